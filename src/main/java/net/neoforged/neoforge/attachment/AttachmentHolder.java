@@ -6,15 +6,14 @@
 package net.neoforged.neoforge.attachment;
 
 import com.mojang.logging.LogUtils;
-import java.util.IdentityHashMap;
-import java.util.Map;
+import java.util.Arrays;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Predicate;
 import net.minecraft.core.HolderLookup;
 import net.minecraft.nbt.CompoundTag;
 import net.minecraft.nbt.Tag;
 import net.minecraft.resources.ResourceLocation;
-import net.neoforged.fml.loading.FMLLoader;
 import net.neoforged.neoforge.registries.NeoForgeRegistries;
 import org.jetbrains.annotations.MustBeInvokedByOverriders;
 import org.jetbrains.annotations.Nullable;
@@ -26,29 +25,70 @@ import org.slf4j.Logger;
  */
 public abstract class AttachmentHolder implements IAttachmentHolder {
     public static final String ATTACHMENTS_NBT_KEY = "neoforge:attachments";
-    private static final boolean IN_DEV = !FMLLoader.isProduction();
     private static final Logger LOGGER = LogUtils.getLogger();
+    private static final int INITIAL_CAPACITY = 4;
 
-    private void validateAttachmentType(AttachmentType<?> type) {
-        Objects.requireNonNull(type);
-        if (!IN_DEV) return;
+    private static int getSlot(AttachmentType<?> type) {
+        int slot = type.slot;
+        if (slot < 0) {
+            throw new IllegalArgumentException("Data attachment type " + type + " must be registered, and the attachment type registry must be frozen before it can be used!");
+        }
+        return slot;
+    }
+
+    /**
+     * Attachment values indexed by {@link AttachmentType#slot}, or {@code null} if no attachment was ever added.
+     * The array only grows as far as the highest slot that was set on this holder.
+     */
+    @Nullable
+    Object[] attachments = null;
+    /**
+     * Number of non-null entries in {@link #attachments}.
+     */
+    int attachmentCount = 0;
 
-        if (!NeoForgeRegistries.ATTACHMENT_TYPES.containsValue(type)) {
-            throw new IllegalArgumentException("Data attachment type with default value " + type.defaultValueSupplier.apply(getExposedHolder()) + " must be registered!");
+    /**
+     * Create the attachment array if it does not yet exist or is too short to hold the given slot, and return it.
+     */
+    private Object[] getAttachmentArray(int slot) {
+        Object[] array = attachments;
+        if (array == null) {
+            array = attachments = new Object[Math.max(slot + 1, INITIAL_CAPACITY)];
+        } else if (slot >= array.length) {
+            // Double the capacity, but never beyond the number of registered attachment types
+            int newLength = Math.min(array.length * 2, AttachmentInternals.slotCount());
+            array = attachments = Arrays.copyOf(array, Math.max(slot + 1, newLength));
         }
+        return array;
     }
 
+    /**
+     * Returns the attachment in the given slot, or {@code null} if there is none.
+     */
     @Nullable
-    Map<AttachmentType<?>, Object> attachments = null;
+    final Object getAttachment(int slot) {
+        Object[] array = attachments;
+        return array != null && slot < array.length ? array[slot] : null;
+    }
 
     /**
-     * Create the attachment map if it does not yet exist, or return the current map.
+     * Stores an attachment in the given slot, returning the previous value.
+     * A {@code null} value removes the attachment.
      */
-    final Map<AttachmentType<?>, Object> getAttachmentMap() {
-        if (attachments == null) {
-            attachments = new IdentityHashMap<>(4);
+    @Nullable
+    final Object putAttachment(int slot, @Nullable Object value) {
+        if (value == null && getAttachment(slot) == null) {
+            return null;
         }
-        return attachments;
+        Object[] array = getAttachmentArray(slot);
+        Object previous = array[slot];
+        array[slot] = value;
+        if (previous == null) {
+            attachmentCount++;
+        } else if (value == null) {
+            attachmentCount--;
+        }
+        return previous;
     }
 
     /**
@@ -62,51 +102,50 @@ public abstract class AttachmentHolder implements IAttachmentHolder {
 
     @Override
     public final boolean hasAttachments() {
-        return attachments != null && !attachments.isEmpty();
+        return attachmentCount > 0;
     }
 
     @Override
     public final boolean hasData(AttachmentType<?> type) {
-        validateAttachmentType(type);
-        return attachments != null && attachments.containsKey(type);
+        return getAttachment(getSlot(type)) != null;
     }
 
     @Override
     public final <T> T getData(AttachmentType<T> type) {
-        validateAttachmentType(type);
-        T ret = (T) getAttachmentMap().get(type);
+        int slot = getSlot(type);
+        T ret = (T) getAttachment(slot);
         if (ret == null) {
             ret = type.defaultValueSupplier.apply(getExposedHolder());
-            attachments.put(type, ret);
+            putAttachment(slot, ret);
         }
         return ret;
     }
 
     @Override
     public <T> Optional<T> getExistingData(AttachmentType<T> type) {
-        validateAttachmentType(type);
-        if (attachments == null) {
-            return Optional.empty();
-        }
-        return Optional.ofNullable((T) this.attachments.get(type));
+        return Optional.ofNullable((T) getAttachment(getSlot(type)));
     }
 
     @Override
     @MustBeInvokedByOverriders
     public <T> @Nullable T setData(AttachmentType<T> type, T data) {
-        validateAttachmentType(type);
+        int slot = getSlot(type);
         Objects.requireNonNull(data);
-        return (T) getAttachmentMap().put(type, data);
+        T previous = (T) putAttachment(slot, data);
+        if (type.syncCodec != null) {
+            AttachmentSync.markDirty(getExposedHolder(), type);
+        }
+        return previous;
     }
 
     @Override
     @MustBeInvokedByOverriders
     public <T> @Nullable T removeData(AttachmentType<T> type) {
-        validateAttachmentType(type);
-        if (attachments == null) {
-            return null;
+        T previous = (T) putAttachment(getSlot(type), null);
+        if (previous != null && type.syncCodec != null) {
+            AttachmentSync.markDirty(getExposedHolder(), type);
         }
-        return (T) attachments.remove(type);
+        return previous;
     }
 
     /**
@@ -115,14 +154,19 @@ public abstract class AttachmentHolder implements IAttachmentHolder {
      */
     @Nullable
     public final CompoundTag serializeAttachments(HolderLookup.Provider provider) {
-        if (attachments == null) {
+        Object[] array = attachments;
+        if (array == null) {
             return null;
         }
         CompoundTag tag = null;
-        for (var entry : attachments.entrySet()) {
-            var type = entry.getKey();
+        for (int slot = 0; slot < array.length; slot++) {
+            Object value = array[slot];
+            if (value == null) {
+                continue;
+            }
+            var type = AttachmentInternals.typeForSlot(slot);
             if (type.serializer != null) {
-                Tag serialized = ((IAttachmentSerializer<?, Object>) type.serializer).write(entry.getValue(), provider);
+                Tag serialized = ((IAttachmentSerializer<?, Object>) type.serializer).write(value, provider);
                 if (serialized != null) {
                     if (tag == null)
                         tag = new CompoundTag();
@@ -137,6 +181,17 @@ public abstract class AttachmentHolder implements IAttachmentHolder {
      * Reads serializable attachments from a tag previously created via {@link #serializeAttachments(HolderLookup.Provider)}.
      */
     protected final void deserializeAttachments(HolderLookup.Provider provider, CompoundTag tag) {
+        deserializeAttachments(provider, tag, type -> true);
+    }
+
+    /**
+     * Reads the serializable attachments that match the filter from a tag previously created via {@link #serializeAttachments(HolderLookup.Provider)}.
+     *
+     * @return a tag containing the serialized attachments that did not match the filter, or {@code null} if there are none
+     */
+    @Nullable
+    final CompoundTag deserializeAttachments(HolderLookup.Provider provider, CompoundTag tag, Predicate<AttachmentType<?>> filter) {
+        CompoundTag skipped = null;
         for (var key : tag.getAllKeys()) {
             // Use tryParse to not discard valid attachment type keys, even if there is a malformed key.
             ResourceLocation keyLocation = ResourceLocation.tryParse(key);
@@ -151,12 +206,20 @@ public abstract class AttachmentHolder implements IAttachmentHolder {
                 continue;
             }
 
+            if (!filter.test(type)) {
+                if (skipped == null)
+                    skipped = new CompoundTag();
+                skipped.put(key, tag.get(key));
+                continue;
+            }
+
             try {
-                getAttachmentMap().put(type, ((IAttachmentSerializer<Tag, ?>) type.serializer).read(getExposedHolder(), tag.get(key), provider));
+                putAttachment(getSlot(type), ((IAttachmentSerializer<Tag, ?>) type.serializer).read(getExposedHolder(), tag.get(key), provider));
             } catch (Exception exception) {
                 LOGGER.error("Failed to deserialize data attachment {}. Skipping.", key, exception);
             }
         }
+        return skipped;
     }
 
     /**
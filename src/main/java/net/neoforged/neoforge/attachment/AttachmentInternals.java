@@ -5,8 +5,13 @@
 
 package net.neoforged.neoforge.attachment;
 
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Predicate;
 import net.minecraft.core.HolderLookup;
+import net.minecraft.core.Registry;
+import net.minecraft.nbt.CompoundTag;
 import net.minecraft.world.entity.Entity;
 import net.neoforged.bus.api.SubscribeEvent;
 import net.neoforged.fml.common.EventBusSubscriber;
@@ -15,37 +20,193 @@ import net.neoforged.neoforge.event.entity.living.LivingConversionEvent;
 import net.neoforged.neoforge.event.entity.player.PlayerEvent;
 import net.neoforged.neoforge.internal.versions.neoforge.NeoForgeVersion;
 import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
 
 @ApiStatus.Internal
 @EventBusSubscriber(modid = NeoForgeVersion.MOD_ID)
 public final class AttachmentInternals {
+    private static AttachmentType<?>[] typesBySlot = new AttachmentType<?>[0];
+    private static List<AttachmentType<?>> syncedTypes = List.of();
+    private static final Timings CHUNK_DECODE_TIMINGS = new Timings();
+    private static final Timings CHUNK_PROMOTION_TIMINGS = new Timings();
+
+    /**
+     * Assigns each registered attachment type a dense slot, matching its registry id.
+     * Called when the attachment type registry is baked.
+     */
+    public static void assignSlots(Registry<AttachmentType<?>> registry) {
+        int maxId = -1;
+        for (var type : registry) {
+            maxId = Math.max(maxId, registry.getId(type));
+        }
+        var types = new AttachmentType<?>[maxId + 1];
+        for (var type : registry) {
+            int id = registry.getId(type);
+            type.slot = id;
+            types[id] = type;
+        }
+        typesBySlot = types;
+        syncedTypes = Arrays.stream(types).filter(type -> type != null && type.syncCodec != null).toList();
+    }
+
+    static int slotCount() {
+        return typesBySlot.length;
+    }
+
+    static AttachmentType<?> typeForSlot(int slot) {
+        return typesBySlot[slot];
+    }
+
+    /**
+     * {@return all registered attachment types that are synced to clients}
+     */
+    static List<AttachmentType<?>> syncedTypes() {
+        return syncedTypes;
+    }
+
     /**
      * Copy some attachments to another holder.
      */
     private static <H extends AttachmentHolder> void copyAttachments(HolderLookup.Provider provider, H from, H to, Predicate<AttachmentType<?>> filter) {
-        if (from.attachments == null) {
+        Object[] attachments = from.attachments;
+        if (attachments == null) {
             return;
         }
-        for (var entry : from.attachments.entrySet()) {
-            AttachmentType<?> type = entry.getKey();
+        for (int slot = 0; slot < attachments.length; slot++) {
+            Object value = attachments[slot];
+            if (value == null) {
+                continue;
+            }
+            AttachmentType<?> type = typeForSlot(slot);
             if (type.serializer == null) {
                 continue;
             }
             @SuppressWarnings("unchecked")
             var copyHandler = (IAttachmentCopyHandler<Object>) type.copyHandler;
             if (filter.test(type)) {
-                Object copy = copyHandler.copy(entry.getValue(), to.getExposedHolder(), provider);
+                Object copy = copyHandler.copy(value, to.getExposedHolder(), provider);
                 if (copy != null) {
-                    to.getAttachmentMap().put(type, copy);
+                    to.putAttachment(slot, copy);
                 }
             }
         }
     }
 
+    /**
+     * Move the serializable attachments that match the filter to another holder, without copying them.
+     * Only valid for {@linkplain AttachmentType#holderIndependent holder-independent} attachments.
+     */
+    private static void moveAttachments(AttachmentHolder from, AttachmentHolder to, Predicate<AttachmentType<?>> filter) {
+        Object[] attachments = from.attachments;
+        if (attachments == null) {
+            return;
+        }
+        for (int slot = 0; slot < attachments.length; slot++) {
+            Object value = attachments[slot];
+            if (value == null) {
+                continue;
+            }
+            AttachmentType<?> type = typeForSlot(slot);
+            if (type.serializer != null && filter.test(type)) {
+                from.putAttachment(slot, null);
+                to.putAttachment(slot, value);
+            }
+        }
+    }
+
     public static void copyChunkAttachmentsOnPromotion(HolderLookup.Provider provider, AttachmentHolder.AsField from, AttachmentHolder.AsField to) {
-        copyAttachments(provider, from, to, type -> true);
+        long start = System.nanoTime();
+        // The proto chunk is discarded after promotion, so attachments that don't reference it can simply change owner
+        moveAttachments(from, to, type -> type.holderIndependent);
+        copyAttachments(provider, from, to, type -> !type.holderIndependent);
+        CHUNK_PROMOTION_TIMINGS.record(System.nanoTime() - start);
+    }
+
+    /**
+     * Chunk attachments that were deserialized ahead of time, on a chunk loading worker thread.
+     *
+     * @param decoded  The holder-independent attachments, which could be deserialized before the chunk exists.
+     * @param deferred The serialized attachments that need the chunk to be deserialized, or {@code null} if there are none.
+     */
+    public record PreparedChunkAttachments(AttachmentHolder decoded, @Nullable CompoundTag deferred) {}
+
+    /**
+     * Deserializes the holder-independent attachments of a chunk. Called on the chunk loading worker when a chunk is parsed.
+     */
+    public static PreparedChunkAttachments prepareChunkAttachments(HolderLookup.Provider provider, CompoundTag tag) {
+        long start = System.nanoTime();
+        var decoded = new DetachedHolder();
+        var deferred = decoded.deserializeAttachments(provider, tag, type -> type.holderIndependent);
+        CHUNK_DECODE_TIMINGS.record(System.nanoTime() - start);
+        return new PreparedChunkAttachments(decoded, deferred);
+    }
+
+    /**
+     * Hands the prepared attachments over to the chunk, and deserializes the remaining ones that need the chunk.
+     * Called on the main thread when the chunk is created from its parsed data.
+     */
+    public static void readPreparedChunkAttachments(HolderLookup.Provider provider, PreparedChunkAttachments attachments, AttachmentHolder.AsField to) {
+        moveAttachments(attachments.decoded(), to, type -> true);
+        if (attachments.deferred() != null) {
+            long start = System.nanoTime();
+            to.deserializeInternal(provider, attachments.deferred());
+            // The chunk was already counted when it was prepared
+            CHUNK_DECODE_TIMINGS.addTime(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * {@return the accumulated time spent deserializing chunk attachments}
+     */
+    public static Timings getChunkDecodeTimings() {
+        return CHUNK_DECODE_TIMINGS;
+    }
+
+    /**
+     * {@return the accumulated time spent moving and copying chunk attachments on chunk promotion}
+     */
+    public static Timings getChunkPromotionTimings() {
+        return CHUNK_PROMOTION_TIMINGS;
+    }
+
+    /**
+     * Thread-safe counter of the number and total duration of an operation.
+     */
+    public static final class Timings {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+
+        private void record(long nanos) {
+            count.increment();
+            totalNanos.add(nanos);
+        }
+
+        /**
+         * Adds time to an operation that was already recorded.
+         */
+        private void addTime(long nanos) {
+            totalNanos.add(nanos);
+        }
+
+        public long count() {
+            return count.sum();
+        }
+
+        public long totalNanos() {
+            return totalNanos.sum();
+        }
+
+        public void reset() {
+            count.reset();
+            totalNanos.reset();
+        }
     }
 
+    /**
+     * Holder for attachments that do not belong to any object yet.
+     */
+    private static final class DetachedHolder extends AttachmentHolder {}
+
     /**
      * Do not call directly, use {@link IEntityExtension#copyAttachmentsFrom(Entity, boolean)}.
      */
@@ -0,0 +1,294 @@
+/*
+ * Copyright (c) NeoForged and contributors
+ * SPDX-License-Identifier: LGPL-2.1-only
+ */
+
+package net.neoforged.neoforge.attachment;
+
+import com.mojang.logging.LogUtils;
+import io.netty.buffer.Unpooled;
+import it.unimi.dsi.fastutil.objects.Reference2ObjectLinkedOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ReferenceLinkedOpenHashSet;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import net.minecraft.network.RegistryFriendlyByteBuf;
+import net.minecraft.network.chat.Component;
+import net.minecraft.network.codec.StreamCodec;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.level.ChunkMap;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.server.network.ServerPlayerConnection;
+import net.minecraft.world.entity.Entity;
+import net.minecraft.world.entity.player.Player;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.chunk.LevelChunk;
+import net.neoforged.bus.api.SubscribeEvent;
+import net.neoforged.fml.common.EventBusSubscriber;
+import net.neoforged.neoforge.common.util.FriendlyByteBufUtil;
+import net.neoforged.neoforge.event.entity.player.PlayerEvent;
+import net.neoforged.neoforge.event.level.ChunkWatchEvent;
+import net.neoforged.neoforge.event.server.ServerStoppedEvent;
+import net.neoforged.neoforge.event.tick.ServerTickEvent;
+import net.neoforged.neoforge.internal.versions.neoforge.NeoForgeVersion;
+import net.neoforged.neoforge.network.PacketDistributor;
+import net.neoforged.neoforge.network.handling.IPayloadContext;
+import net.neoforged.neoforge.network.payload.SyncAttachmentsPayload;
+import net.neoforged.neoforge.registries.NeoForgeRegistries;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+
+/**
+ * Implementation of data attachment syncing, see {@link AttachmentType.Builder#sync}.
+ *
+ * <p>Changes are collected per holder during the tick and sent as one {@link SyncAttachmentsPayload} per holder
+ * to the players tracking it at the end of the server tick.
+ */
+@ApiStatus.Internal
+@EventBusSubscriber(modid = NeoForgeVersion.MOD_ID)
+public final class AttachmentSync {
+    private static final Logger LOGGER = LogUtils.getLogger();
+    /**
+     * Changed synced attachments per holder, in the order the holders were first changed.
+     * Only accessed from the server thread.
+     */
+    private static final Map<IAttachmentHolder, Set<AttachmentType<?>>> DIRTY = new Reference2ObjectLinkedOpenHashMap<>();
+
+    public enum HolderType {
+        ENTITY,
+        CHUNK,
+        LEVEL
+    }
+
+    /**
+     * Marks an attachment of a holder as changed, so that it gets synced at the end of the tick.
+     * Does nothing for non-synced attachment types and for holders that are not on the logical server.
+     * Changes made off the server thread are handed off to the server thread.
+     */
+    static void markDirty(IAttachmentHolder holder, AttachmentType<?> type) {
+        if (type.syncCodec == null) {
+            return;
+        }
+        ServerLevel level = getServerLevel(holder);
+        if (level == null) {
+            return;
+        }
+        if (!level.getServer().isSameThread()) {
+            level.getServer().execute(() -> markDirty(holder, type));
+            return;
+        }
+        DIRTY.computeIfAbsent(holder, h -> new ReferenceLinkedOpenHashSet<>()).add(type);
+    }
+
+    @Nullable
+    private static ServerLevel getServerLevel(IAttachmentHolder holder) {
+        Level level = switch (holder) {
+            case Entity entity -> entity.level();
+            case LevelChunk chunk -> chunk.getLevel();
+            case Level l -> l;
+            default -> null;
+        };
+        return level instanceof ServerLevel serverLevel ? serverLevel : null;
+    }
+
+    @SubscribeEvent
+    public static void onServerTick(ServerTickEvent.Post event) {
+        if (DIRTY.isEmpty()) {
+            return;
+        }
+        var dirty = new ArrayList<>(DIRTY.entrySet());
+        DIRTY.clear();
+        for (var entry : dirty) {
+            var holder = entry.getKey();
+            if (holder instanceof Entity entity && entity.isRemoved()) {
+                continue;
+            }
+            sendToTrackingPlayers(holder, entry.getValue());
+        }
+    }
+
+    @SubscribeEvent
+    public static void onServerStopped(ServerStoppedEvent event) {
+        DIRTY.clear();
+    }
+
+    @SubscribeEvent
+    public static void onStartTracking(PlayerEvent.StartTracking event) {
+        if (event.getEntity() instanceof ServerPlayer player) {
+            sendAll(event.getTarget(), player);
+        }
+    }
+
+    @SubscribeEvent
+    public static void onChunkSent(ChunkWatchEvent.Sent event) {
+        sendAll(event.getChunk(), event.getPlayer());
+    }
+
+    @SubscribeEvent
+    public static void onPlayerLoggedIn(PlayerEvent.PlayerLoggedInEvent event) {
+        syncPlayerAndLevel(event.getEntity());
+    }
+
+    @SubscribeEvent
+    public static void onPlayerRespawn(PlayerEvent.PlayerRespawnEvent event) {
+        syncPlayerAndLevel(event.getEntity());
+    }
+
+    @SubscribeEvent
+    public static void onPlayerChangedDimension(PlayerEvent.PlayerChangedDimensionEvent event) {
+        syncPlayerAndLevel(event.getEntity());
+    }
+
+    private static void syncPlayerAndLevel(Player player) {
+        if (player instanceof ServerPlayer serverPlayer) {
+            sendAll(serverPlayer, serverPlayer);
+            sendAll(serverPlayer.serverLevel(), serverPlayer);
+        }
+    }
+
+    /**
+     * Sends all synced attachments of a holder to a player that just started tracking it.
+     */
+    private static void sendAll(IAttachmentHolder holder, ServerPlayer player) {
+        var types = AttachmentInternals.syncedTypes();
+        if (types.isEmpty() || !holder.hasAttachments() || !player.connection.hasChannel(SyncAttachmentsPayload.TYPE)) {
+            return;
+        }
+        var payload = createPayload(holder, types, player, false);
+        if (payload != null) {
+            player.connection.send(payload);
+        }
+    }
+
+    private static void sendToTrackingPlayers(IAttachmentHolder holder, Collection<AttachmentType<?>> types) {
+        ServerLevel level = getServerLevel(holder);
+        if (level == null) {
+            return;
+        }
+        List<ServerPlayer> players = switch (holder) {
+            case Entity entity -> getPlayersTrackingEntityAndSelf(level, entity);
+            case LevelChunk chunk -> level.getChunkSource().chunkMap.getPlayers(chunk.getPos(), false);
+            default -> level.players();
+        };
+        // Most attachment types send to every tracking player, so the payload can be shared in the common case
+        SyncAttachmentsPayload shared = null;
+        boolean allUnconditional = types.stream().allMatch(type -> type.syncPredicate == AttachmentType.ALWAYS_SYNC);
+        for (ServerPlayer player : players) {
+            if (!player.connection.hasChannel(SyncAttachmentsPayload.TYPE)) {
+                continue;
+            }
+            SyncAttachmentsPayload payload;
+            if (allUnconditional) {
+                if (shared == null) {
+                    shared = createPayload(holder, types, player, true);
+                }
+                payload = shared;
+            } else {
+                payload = createPayload(holder, types, player, true);
+            }
+            if (payload != null) {
+                player.connection.send(payload);
+            }
+        }
+    }
+
+    /**
+     * {@return the players that {@link PacketDistributor#sendToPlayersTrackingEntityAndSelf} sends to}
+     * The distributor cannot be used directly, as the payload may differ per player and some players may not have the channel.
+     */
+    private static List<ServerPlayer> getPlayersTrackingEntityAndSelf(ServerLevel level, Entity entity) {
+        List<ServerPlayer> players = new ArrayList<>();
+        ChunkMap.TrackedEntity tracked = level.getChunkSource().chunkMap.entityMap.get(entity.getId());
+        if (tracked != null) {
+            for (ServerPlayerConnection connection : tracked.seenBy) {
+                players.add(connection.getPlayer());
+            }
+        }
+        if (entity instanceof ServerPlayer player) {
+            players.add(player);
+        }
+        return players;
+    }
+
+    /**
+     * Creates the payload containing the given attachments of the holder that should be sent to the player,
+     * or {@code null} if there is nothing to send.
+     *
+     * @param includeRemoved whether missing attachments should be sent as removals
+     */
+    @Nullable
+    @SuppressWarnings("unchecked")
+    private static SyncAttachmentsPayload createPayload(IAttachmentHolder holder, Collection<AttachmentType<?>> types, ServerPlayer player, boolean includeRemoved) {
+        List<AttachmentType<?>> toSend = new ArrayList<>(types.size());
+        for (var type : types) {
+            if (type.syncPredicate.test(holder, player) && (includeRemoved || holder.hasData(type))) {
+                toSend.add(type);
+            }
+        }
+        if (toSend.isEmpty()) {
+            return null;
+        }
+        byte[] data = FriendlyByteBufUtil.writeCustomData(buf -> {
+            buf.writeVarInt(toSend.size());
+            for (var type : toSend) {
+                // The attachment type registry is not synced, so the ids may differ on the client
+                buf.writeResourceLocation(NeoForgeRegistries.ATTACHMENT_TYPES.getKey(type));
+                Object value = holder.getExistingData(type).orElse(null);
+                buf.writeBoolean(value != null);
+                if (value != null) {
+                    ((StreamCodec<? super RegistryFriendlyByteBuf, Object>) type.syncCodec).encode(buf, value);
+                }
+            }
+        }, player.registryAccess());
+        return switch (holder) {
+            case Entity entity -> new SyncAttachmentsPayload(HolderType.ENTITY, entity.getId(), data);
+            case LevelChunk chunk -> new SyncAttachmentsPayload(HolderType.CHUNK, chunk.getPos().toLong(), data);
+            default -> new SyncAttachmentsPayload(HolderType.LEVEL, 0, data);
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    public static void handleSyncPayload(SyncAttachmentsPayload payload, IPayloadContext context) {
+        Level level = context.player().level();
+        IAttachmentHolder holder = switch (payload.holderType()) {
+            case ENTITY -> level.getEntity((int) payload.holderId());
+            case CHUNK -> {
+                ChunkPos pos = new ChunkPos(payload.holderId());
+                yield level.getChunkSource().getChunk(pos.x, pos.z, false);
+            }
+            case LEVEL -> level;
+        };
+        if (holder == null) {
+            // The holder may have been unloaded on the client in the meantime
+            return;
+        }
+        final RegistryFriendlyByteBuf buf = new RegistryFriendlyByteBuf(Unpooled.wrappedBuffer(payload.data()), level.registryAccess(), context.listener().getConnectionType());
+        try {
+            int size = buf.readVarInt();
+            for (int i = 0; i < size; i++) {
+                ResourceLocation key = buf.readResourceLocation();
+                var type = (AttachmentType<Object>) NeoForgeRegistries.ATTACHMENT_TYPES.getValue(key);
+                if (type == null || type.syncCodec == null) {
+                    throw new IllegalStateException("Received unknown or non-synced data attachment " + key);
+                }
+                if (buf.readBoolean()) {
+                    holder.setData(type, ((StreamCodec<? super RegistryFriendlyByteBuf, Object>) type.syncCodec).decode(buf));
+                } else {
+                    holder.removeData(type);
+                }
+            }
+        } catch (Throwable t) {
+            LOGGER.error("Failed to handle data attachment sync from server.", t);
+            context.disconnect(Component.translatable("neoforge.network.attachment_sync.failed", t.toString()));
+        } finally {
+            buf.release();
+        }
+    }
+
+    private AttachmentSync() {}
+}
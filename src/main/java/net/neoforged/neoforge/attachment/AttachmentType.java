@@ -8,12 +8,16 @@ package net.neoforged.neoforge.attachment;
 import com.google.common.base.Predicates;
 import com.mojang.serialization.Codec;
 import java.util.Objects;
+import java.util.function.BiPredicate;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
 import net.minecraft.core.HolderLookup;
 import net.minecraft.nbt.NbtOps;
 import net.minecraft.nbt.Tag;
+import net.minecraft.network.RegistryFriendlyByteBuf;
+import net.minecraft.network.codec.StreamCodec;
+import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.world.entity.Entity;
 import net.minecraft.world.item.ItemStack;
 import net.minecraft.world.level.Level;
@@ -34,6 +38,13 @@ import org.jetbrains.annotations.Nullable;
  * <ul>
  * <li>Modifications to attachments should be followed by a call to {@link BlockEntity#setChanged()}.</li>
  * </ul>
+ * <h3>Syncing:</h3>
+ * <ul>
+ * <li>Entity, chunk and level attachments can opt into syncing to clients via {@link Builder#sync(StreamCodec)}.</li>
+ * <li>Synced attachments are sent to every player that starts tracking the holder,
+ * and changes made through {@link IAttachmentHolder#setData}, {@link IAttachmentHolder#removeData} or {@link IAttachmentHolder#syncData}
+ * are batched and sent to tracking players at the end of the server tick.</li>
+ * </ul>
  * <h3>{@link Entity}-exclusive behavior:</h3>
  * <ul>
  * <li>Serializable entity attachments are not copied on death by default (but they are copied when returning from the end).</li>
@@ -52,21 +63,42 @@ import org.jetbrains.annotations.Nullable;
  * <h3>{@link ChunkAccess}-exclusive behavior:</h3>
  * <ul>
  * <li>Modifications to attachments should be followed by a call to {@link ChunkAccess#setUnsaved(boolean)}.</li>
- * <li>Serializable attachments are copied from a {@link ProtoChunk} to a {@link LevelChunk} on promotion.</li>
+ * <li>Serializable attachments are copied from a {@link ProtoChunk} to a {@link LevelChunk} on promotion.
+ * Attachments that do not capture their holder (see {@link #builder(Supplier)}, {@link #serializable(Supplier)} and {@link Builder#serialize(Codec)})
+ * are moved to the {@link LevelChunk} instead of being copied.</li>
+ * <li>Serializable attachments that do not capture their holder are deserialized on a chunk loading worker thread.</li>
  * </ul>
  */
 public final class AttachmentType<T> {
+    static final BiPredicate<IAttachmentHolder, ServerPlayer> ALWAYS_SYNC = (holder, player) -> true;
+
     final Function<IAttachmentHolder, T> defaultValueSupplier;
     @Nullable
     final IAttachmentSerializer<?, T> serializer;
     final boolean copyOnDeath;
     final IAttachmentCopyHandler<T> copyHandler;
+    @Nullable
+    final StreamCodec<? super RegistryFriendlyByteBuf, T> syncCodec;
+    final BiPredicate<IAttachmentHolder, ServerPlayer> syncPredicate;
+    /**
+     * Whether neither the default value supplier nor the serializer of this type use the holder.
+     * Such attachments can be deserialized before their holder exists, and moved between holders without copying.
+     */
+    final boolean holderIndependent;
+    /**
+     * Dense index of this type in the attachment arrays of {@link AttachmentHolder}s.
+     * Assigned from the registry id when the attachment type registry is baked, {@code -1} until then.
+     */
+    int slot = -1;
 
     private AttachmentType(Builder<T> builder) {
         this.defaultValueSupplier = builder.defaultValueSupplier;
         this.serializer = builder.serializer;
         this.copyOnDeath = builder.copyOnDeath;
         this.copyHandler = builder.copyHandler != null ? builder.copyHandler : defaultCopyHandler(serializer);
+        this.syncCodec = builder.syncCodec;
+        this.syncPredicate = builder.syncPredicate;
+        this.holderIndependent = builder.holderIndependent;
     }
 
     private static <T, H extends Tag> IAttachmentCopyHandler<T> defaultCopyHandler(@Nullable IAttachmentSerializer<H, T> serializer) {
@@ -92,7 +124,9 @@ public final class AttachmentType<T> {
      * @param defaultValueSupplier A supplier for a new default value of this attachment type.
      */
     public static <T> Builder<T> builder(Supplier<T> defaultValueSupplier) {
-        return builder(holder -> defaultValueSupplier.get());
+        var builder = builder(holder -> defaultValueSupplier.get());
+        builder.holderIndependent = true;
+        return builder;
     }
 
     /**
@@ -116,7 +150,10 @@ public final class AttachmentType<T> {
      * <p>See {@link #serializable(Function)} for attachments that want to capture a reference to their holder.
      */
     public static <S extends Tag, T extends INBTSerializable<S>> Builder<T> serializable(Supplier<T> defaultValueSupplier) {
-        return serializable(holder -> defaultValueSupplier.get());
+        var builder = serializable(holder -> defaultValueSupplier.get());
+        // The serializer only uses the holder to create the default value, which is holder-independent here
+        builder.holderIndependent = true;
+        return builder;
     }
 
     /**
@@ -152,6 +189,10 @@ public final class AttachmentType<T> {
         private boolean copyOnDeath;
         @Nullable
         private IAttachmentCopyHandler<T> copyHandler;
+        @Nullable
+        private StreamCodec<? super RegistryFriendlyByteBuf, T> syncCodec;
+        private BiPredicate<IAttachmentHolder, ServerPlayer> syncPredicate = ALWAYS_SYNC;
+        private boolean holderIndependent;
 
         private Builder(Function<IAttachmentHolder, T> defaultValueSupplier) {
             this.defaultValueSupplier = defaultValueSupplier;
@@ -168,6 +209,8 @@ public final class AttachmentType<T> {
                 throw new IllegalStateException("Serializer already set");
 
             this.serializer = serializer;
+            // A custom serializer may read the holder
+            this.holderIndependent = false;
             return this;
         }
 
@@ -199,7 +242,8 @@ public final class AttachmentType<T> {
         public Builder<T> serialize(Codec<T> codec, Predicate<? super T> shouldSerialize) {
             Objects.requireNonNull(codec);
             // TODO: better error handling
-            return serialize(new IAttachmentSerializer<>() {
+            boolean holderIndependent = this.holderIndependent;
+            serialize(new IAttachmentSerializer<>() {
                 @Override
                 public T read(IAttachmentHolder holder, Tag tag, HolderLookup.Provider provider) {
                     return codec.parse(provider.createSerializationContext(NbtOps.INSTANCE), tag).result().get();
@@ -211,6 +255,9 @@ public final class AttachmentType<T> {
                     return shouldSerialize.test(attachment) ? codec.encodeStart(provider.createSerializationContext(NbtOps.INSTANCE), attachment).result().get() : null;
                 }
             });
+            // Codecs never see the holder
+            this.holderIndependent = holderIndependent;
+            return this;
         }
 
         /**
@@ -239,6 +286,37 @@ public final class AttachmentType<T> {
             return this;
         }
 
+        /**
+         * Requests that this attachment be synced to the clients tracking its holder.
+         *
+         * <p>Syncing is supported for entity, chunk and level attachments.
+         * In-place modifications of the attachment value must be followed by a call to {@link IAttachmentHolder#syncData(AttachmentType)}.
+         *
+         * @param streamCodec The stream codec used to write the attachment value to the network.
+         */
+        public Builder<T> sync(StreamCodec<? super RegistryFriendlyByteBuf, T> streamCodec) {
+            return sync(ALWAYS_SYNC, streamCodec);
+        }
+
+        /**
+         * Requests that this attachment be synced to the clients tracking its holder.
+         *
+         * <p>Syncing is supported for entity, chunk and level attachments.
+         * In-place modifications of the attachment value must be followed by a call to {@link IAttachmentHolder#syncData(AttachmentType)}.
+         *
+         * @param sendToPlayer A check that determines whether the attachment should be sent to a specific player tracking the holder.
+         * @param streamCodec  The stream codec used to write the attachment value to the network.
+         */
+        public Builder<T> sync(BiPredicate<IAttachmentHolder, ServerPlayer> sendToPlayer, StreamCodec<? super RegistryFriendlyByteBuf, T> streamCodec) {
+            Objects.requireNonNull(sendToPlayer);
+            Objects.requireNonNull(streamCodec);
+            if (this.syncCodec != null)
+                throw new IllegalStateException("Sync codec already set");
+            this.syncPredicate = sendToPlayer;
+            this.syncCodec = streamCodec;
+            return this;
+        }
+
         public AttachmentType<T> build() {
             return new AttachmentType<>(this);
         }
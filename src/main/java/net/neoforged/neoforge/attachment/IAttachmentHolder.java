@@ -94,4 +94,28 @@ public interface IAttachmentHolder {
     default <T> @Nullable T removeData(Supplier<AttachmentType<T>> type) {
         return removeData(type.get());
     }
+
+    /**
+     * Requests that the data attachment of the given type be synced to the clients tracking this holder.
+     *
+     * <p>{@link #setData} and {@link #removeData} already do this, so this method only needs to be called
+     * after an attachment value was modified in place.
+     * Changes are batched and sent at the end of the server tick.
+     * This has no effect on the client, or if the attachment type was not built with {@link AttachmentType.Builder#sync}.
+     */
+    default void syncData(AttachmentType<?> type) {
+        AttachmentSync.markDirty(this, type);
+    }
+
+    /**
+     * Requests that the data attachment of the given type be synced to the clients tracking this holder.
+     *
+     * <p>{@link #setData} and {@link #removeData} already do this, so this method only needs to be called
+     * after an attachment value was modified in place.
+     * Changes are batched and sent at the end of the server tick.
+     * This has no effect on the client, or if the attachment type was not built with {@link AttachmentType.Builder#sync}.
+     */
+    default <T> void syncData(Supplier<AttachmentType<T>> type) {
+        syncData(type.get());
+    }
 }
@@ -6,8 +6,13 @@
 package net.neoforged.neoforge.client;
 
 import java.util.IdentityHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+import net.minecraft.Util;
+import net.minecraft.client.Minecraft;
 import net.minecraft.client.multiplayer.SessionSearchTrees;
 import net.minecraft.client.searchtree.SearchTree;
 import net.minecraft.world.item.CreativeModeTab;
@@ -20,8 +25,8 @@ public class CreativeModeTabSearchRegistry {
     private static final Map<CreativeModeTab, SessionSearchTrees.Key> NAME_SEARCH_KEYS = new IdentityHashMap<>();
     private static final Map<CreativeModeTab, SessionSearchTrees.Key> TAG_SEARCH_KEYS = new IdentityHashMap<>();
     private static final CompletableFuture<SearchTree<ItemStack>> DEFAULT_SEARCH = CompletableFuture.completedFuture(SearchTree.empty());
-    private static final Map<SessionSearchTrees.Key, CompletableFuture<SearchTree<ItemStack>>> NAME_SEARCH_TREES = new IdentityHashMap<>();
-    private static final Map<SessionSearchTrees.Key, CompletableFuture<SearchTree<ItemStack>>> TAG_SEARCH_TREES = new IdentityHashMap<>();
+    private static final Map<SessionSearchTrees.Key, LazySearchTree> NAME_SEARCH_TREES = new IdentityHashMap<>();
+    private static final Map<SessionSearchTrees.Key, LazySearchTree> TAG_SEARCH_TREES = new IdentityHashMap<>();
 
     public static Map<CreativeModeTab, SessionSearchTrees.Key> getNameSearchKeys() {
         Map<CreativeModeTab, SessionSearchTrees.Key> nameSearchKeys = new IdentityHashMap<>();
@@ -73,19 +78,140 @@ public class CreativeModeTabSearchRegistry {
         return TAG_SEARCH_KEYS.computeIfAbsent(tab, k -> new SessionSearchTrees.Key());
     }
 
+    /**
+     * {@return the name search tree for the given key}
+     * Starts building the tree if it has not been built yet.
+     */
     public static CompletableFuture<SearchTree<ItemStack>> getNameSearchTree(SessionSearchTrees.Key key) {
-        return NAME_SEARCH_TREES.getOrDefault(key, DEFAULT_SEARCH);
+        var tree = NAME_SEARCH_TREES.get(key);
+        return tree != null ? tree.get() : DEFAULT_SEARCH;
     }
 
     public static void putNameSearchTree(SessionSearchTrees.Key key, CompletableFuture<SearchTree<ItemStack>> future) {
-        NAME_SEARCH_TREES.put(key, future);
+        update(NAME_SEARCH_TREES, key, new LazySearchTree(future));
     }
 
+    /**
+     * Sets the contents of the name search tree for the given key.
+     * The tree is only built once it is {@linkplain #getNameSearchTree(SessionSearchTrees.Key) requested},
+     * and the previous tree is reused if neither the contents nor the language changed.
+     */
+    public static void updateNameSearchTree(SessionSearchTrees.Key key, List<ItemStack> stacks, Function<List<ItemStack>, SearchTree<ItemStack>> factory) {
+        // Tooltips depend on the selected language, so a language change must invalidate the tree
+        long salt = Minecraft.getInstance().getLanguageManager().getSelected().hashCode();
+        update(NAME_SEARCH_TREES, key, new LazySearchTree(stacks, factory, list -> contentHash(list, salt, false)));
+    }
+
+    /**
+     * {@return the tag search tree for the given key}
+     * Starts building the tree if it has not been built yet.
+     */
     public static CompletableFuture<SearchTree<ItemStack>> getTagSearchTree(SessionSearchTrees.Key key) {
-        return TAG_SEARCH_TREES.getOrDefault(key, DEFAULT_SEARCH);
+        var tree = TAG_SEARCH_TREES.get(key);
+        return tree != null ? tree.get() : DEFAULT_SEARCH;
     }
 
     public static void putTagSearchTree(SessionSearchTrees.Key key, CompletableFuture<SearchTree<ItemStack>> future) {
-        TAG_SEARCH_TREES.put(key, future);
+        update(TAG_SEARCH_TREES, key, new LazySearchTree(future));
+    }
+
+    /**
+     * Sets the contents of the tag search tree for the given key.
+     * The tree is only built once it is {@linkplain #getTagSearchTree(SessionSearchTrees.Key) requested},
+     * and the previous tree is reused if neither the contents nor their tags changed.
+     */
+    public static void updateTagSearchTree(SessionSearchTrees.Key key, List<ItemStack> stacks, Function<List<ItemStack>, SearchTree<ItemStack>> factory) {
+        update(TAG_SEARCH_TREES, key, new LazySearchTree(stacks, factory, list -> contentHash(list, 0, true)));
+    }
+
+    /**
+     * Starts building the search trees of a tab in the background, so that they are likely to be ready once the player starts typing.
+     */
+    public static void prefetch(CreativeModeTab tab) {
+        var nameSearchKey = getNameSearchKey(tab);
+        if (nameSearchKey != null)
+            getNameSearchTree(nameSearchKey);
+        var tagSearchKey = getTagSearchKey(tab);
+        if (tagSearchKey != null)
+            getTagSearchTree(tagSearchKey);
+    }
+
+    private static void update(Map<SessionSearchTrees.Key, LazySearchTree> trees, SessionSearchTrees.Key key, LazySearchTree tree) {
+        var previous = trees.put(key, tree);
+        if (previous != null) {
+            // Keep the last built tree around until the new one is built, in case the contents did not change
+            tree.reusable = previous.isBuilt() ? previous : previous.reusable;
+            previous.cancel();
+        }
+    }
+
+    private static long contentHash(List<ItemStack> stacks, long salt, boolean includeTags) {
+        long hash = salt * 31 + stacks.size();
+        for (ItemStack stack : stacks) {
+            hash = hash * 31 + ItemStack.hashItemAndComponents(stack);
+            if (includeTags) {
+                var tags = stack.getTags().iterator();
+                while (tags.hasNext()) {
+                    hash = hash * 31 + tags.next().hashCode();
+                }
+            }
+        }
+        return hash;
+    }
+
+    private static final class LazySearchTree {
+        @Nullable
+        private final List<ItemStack> stacks;
+        @Nullable
+        private final Function<List<ItemStack>, SearchTree<ItemStack>> factory;
+        @Nullable
+        private final ToLongFunction<List<ItemStack>> hasher;
+        @Nullable
+        private LazySearchTree reusable;
+        @Nullable
+        private CompletableFuture<SearchTree<ItemStack>> tree;
+        /**
+         * Only valid once {@link #tree} is done, which guarantees its visibility.
+         */
+        private long contentHash;
+        private boolean hashed;
+
+        private LazySearchTree(List<ItemStack> stacks, Function<List<ItemStack>, SearchTree<ItemStack>> factory, ToLongFunction<List<ItemStack>> hasher) {
+            this.stacks = stacks;
+            this.factory = factory;
+            this.hasher = hasher;
+        }
+
+        private LazySearchTree(CompletableFuture<SearchTree<ItemStack>> tree) {
+            this.stacks = null;
+            this.factory = null;
+            this.hasher = null;
+            this.tree = tree;
+        }
+
+        private CompletableFuture<SearchTree<ItemStack>> get() {
+            if (tree == null) {
+                var previous = reusable;
+                reusable = null;
+                tree = CompletableFuture.supplyAsync(() -> {
+                    contentHash = hasher.applyAsLong(stacks);
+                    hashed = true;
+                    if (previous != null && previous.contentHash == contentHash) {
+                        return previous.tree.join();
+                    }
+                    return factory.apply(stacks);
+                }, Util.backgroundExecutor());
+            }
+            return tree;
+        }
+
+        private boolean isBuilt() {
+            return tree != null && tree.isDone() && !tree.isCompletedExceptionally() && hashed;
+        }
+
+        private void cancel() {
+            if (tree != null && !tree.isDone())
+                tree.cancel(true);
+        }
     }
 }
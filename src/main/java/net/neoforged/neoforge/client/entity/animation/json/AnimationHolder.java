@@ -5,7 +5,9 @@
 
 package net.neoforged.neoforge.client.entity.animation.json;
 
+import com.google.gson.JsonElement;
 import com.mojang.logging.LogUtils;
+import com.mojang.serialization.JsonOps;
 import java.util.Map;
 import net.minecraft.client.animation.AnimationDefinition;
 import net.minecraft.resources.ResourceLocation;
@@ -15,6 +17,9 @@ import org.slf4j.Logger;
 /**
  * Holds a single {@link AnimationDefinition} loaded from resource packs. Objects of this class will be automatically updated with new
  * {@link AnimationDefinition}s on reload.
+ * <p>
+ * Animations are only parsed the first time they are requested after a reload, so that animations of entities that never appear
+ * do not need to be parsed.
  */
 public final class AnimationHolder {
     public static final AnimationDefinition EMPTY_ANIMATION = new AnimationDefinition(0f, false, Map.of());
@@ -23,7 +28,9 @@ public final class AnimationHolder {
 
     private final ResourceLocation key;
     @Nullable
-    private AnimationDefinition value;
+    private volatile AnimationDefinition value;
+    @Nullable
+    private volatile JsonElement unparsed;
     private boolean absentWarned;
 
     AnimationHolder(ResourceLocation key) {
@@ -32,11 +39,39 @@ public final class AnimationHolder {
 
     void unbind() {
         value = null;
+        unparsed = null;
         absentWarned = false;
     }
 
     void bind(AnimationDefinition value) {
         this.value = value;
+        this.unparsed = null;
+    }
+
+    /**
+     * Binds the JSON of an animation, which will be parsed once the animation is first requested.
+     */
+    void bindLazy(JsonElement json) {
+        this.value = null;
+        this.unparsed = json;
+    }
+
+    @Nullable
+    private AnimationDefinition resolve() {
+        final var result = value;
+        if (result != null || unparsed == null) {
+            return result;
+        }
+        synchronized (this) {
+            final var json = unparsed;
+            if (json != null) {
+                value = AnimationParser.CODEC.parse(JsonOps.INSTANCE, json)
+                        .resultOrPartial(error -> LOGGER.error("Couldn't parse entity animation {}: {}", key, error))
+                        .orElse(null);
+                unparsed = null;
+            }
+            return value;
+        }
     }
 
     /**
@@ -50,7 +85,7 @@ public final class AnimationHolder {
      * Gets the currently loaded animation. If the animation has not been loaded, returns {@link #EMPTY_ANIMATION}.
      */
     public AnimationDefinition get() {
-        final var result = value;
+        final var result = resolve();
         if (result == null) {
             if (!absentWarned) {
                 absentWarned = true;
@@ -66,13 +101,14 @@ public final class AnimationHolder {
      */
     @Nullable
     public AnimationDefinition getOrNull() {
-        return value;
+        return resolve();
     }
 
     /**
      * Returns whether the animation has been loaded.
+     * An animation that has not been requested yet is considered to be loaded, even if it later turns out to be invalid.
      */
     public boolean isBound() {
-        return value != null;
+        return value != null || unparsed != null;
     }
 }
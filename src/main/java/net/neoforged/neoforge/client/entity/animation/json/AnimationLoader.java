@@ -6,6 +6,7 @@
 package net.neoforged.neoforge.client.entity.animation.json;
 
 import com.google.common.collect.MapMaker;
+import com.google.gson.JsonElement;
 import com.mojang.logging.LogUtils;
 import java.util.ArrayList;
 import java.util.List;
@@ -21,8 +22,10 @@ import org.slf4j.Logger;
 
 /**
  * A loader for entity animations written in JSON. You can also get parsed animations from this class.
+ * <p>
+ * Reloading only reads and superficially validates the animation files, the animations are parsed when they are first requested.
  */
-public final class AnimationLoader extends SimpleJsonResourceReloadListener<AnimationDefinition> {
+public final class AnimationLoader extends SimpleJsonResourceReloadListener<JsonElement> {
     private static final Logger LOGGER = LogUtils.getLogger();
 
     public static final AnimationLoader INSTANCE = new AnimationLoader();
@@ -32,7 +35,7 @@ public final class AnimationLoader extends SimpleJsonResourceReloadListener<Anim
     private final List<AnimationHolder> strongHolderReferences = new ArrayList<>();
 
     private AnimationLoader() {
-        super(AnimationParser.CODEC, FileToIdConverter.json("neoforge/animations/entity"));
+        super(AnimationParser.UNPARSED_CODEC, FileToIdConverter.json("neoforge/animations/entity"));
     }
 
     /**
@@ -53,13 +56,13 @@ public final class AnimationLoader extends SimpleJsonResourceReloadListener<Anim
     }
 
     @Override
-    protected void apply(Map<ResourceLocation, AnimationDefinition> animationJsons, ResourceManager resourceManager, ProfilerFiller profiler) {
+    protected void apply(Map<ResourceLocation, JsonElement> animationJsons, ResourceManager resourceManager, ProfilerFiller profiler) {
         animations.values().forEach(AnimationHolder::unbind);
         strongHolderReferences.clear();
         int loaded = 0;
         for (final var entry : animationJsons.entrySet()) {
             final var holder = getAnimationHolder(entry.getKey());
-            holder.bind(entry.getValue());
+            holder.bindLazy(entry.getValue());
             strongHolderReferences.add(holder);
             loaded++;
         }
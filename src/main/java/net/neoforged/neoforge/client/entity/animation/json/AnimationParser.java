@@ -5,6 +5,10 @@
 
 package net.neoforged.neoforge.client.entity.animation.json;
 
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonPrimitive;
 import com.mojang.serialization.Codec;
 import com.mojang.serialization.DataResult;
 import com.mojang.serialization.MapCodec;
@@ -163,8 +167,26 @@ public final class AnimationParser {
                             .forGetter(AnimationDefinition::boneAnimations))
                     .apply(instance, AnimationDefinition::new));
 
+    /**
+     * A codec that keeps the JSON of an animation as is, after checking that it has the overall structure expected by {@link #CODEC}.
+     * Used to defer parsing animations until they are used.
+     */
+    static final Codec<JsonElement> UNPARSED_CODEC = ExtraCodecs.JSON.validate(AnimationParser::validateStructure);
+
     private AnimationParser() {}
 
+    private static DataResult<JsonElement> validateStructure(JsonElement json) {
+        if (!(json instanceof JsonObject object))
+            return DataResult.error(() -> "Animation must be a JSON object");
+        if (!(object.get("length") instanceof JsonPrimitive length) || !length.isNumber())
+            return DataResult.error(() -> "Animation must have a numeric \"length\"");
+        if (object.has("loop") && !(object.get("loop") instanceof JsonPrimitive loop && loop.isBoolean()))
+            return DataResult.error(() -> "Animation \"loop\" must be a boolean");
+        if (!(object.get("animations") instanceof JsonArray))
+            return DataResult.error(() -> "Animation must have an \"animations\" array");
+        return DataResult.success(json);
+    }
+
     /**
      * {@snippet lang = JSON :
      * {
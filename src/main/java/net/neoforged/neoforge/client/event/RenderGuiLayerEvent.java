@@ -22,14 +22,17 @@ import org.jetbrains.annotations.ApiStatus;
  * <p>A layer that is not normally active (for example because the player pressed F1) cannot be forced to render.
  * In such cases, this event will however still fire.
  *
+ * <p>The same event instances are reused for all layers rendered during a frame,
+ * so listeners must not keep references to the event after returning.
+ *
  * @see Pre
  * @see Post
  */
 public abstract class RenderGuiLayerEvent extends Event {
     private final GuiGraphics guiGraphics;
     private final DeltaTracker partialTick;
-    private final ResourceLocation name;
-    private final LayeredDraw.Layer layer;
+    private ResourceLocation name;
+    private LayeredDraw.Layer layer;
 
     @ApiStatus.Internal
     protected RenderGuiLayerEvent(GuiGraphics guiGraphics, DeltaTracker partialTick, ResourceLocation name, LayeredDraw.Layer layer) {
@@ -55,6 +58,15 @@ public abstract class RenderGuiLayerEvent extends Event {
         return layer;
     }
 
+    /**
+     * Prepares this event to be posted for another layer.
+     */
+    @ApiStatus.Internal
+    public void setLayer(ResourceLocation name, LayeredDraw.Layer layer) {
+        this.name = name;
+        this.layer = layer;
+    }
+
     /**
      * Fired <b>before</b> a GUI layer is rendered to the screen.
      *
@@ -72,6 +84,13 @@ public abstract class RenderGuiLayerEvent extends Event {
         public Pre(GuiGraphics guiGraphics, DeltaTracker partialTick, ResourceLocation name, LayeredDraw.Layer layer) {
             super(guiGraphics, partialTick, name, layer);
         }
+
+        @Override
+        @ApiStatus.Internal
+        public void setLayer(ResourceLocation name, LayeredDraw.Layer layer) {
+            super.setLayer(name, layer);
+            setCanceled(false);
+        }
     }
 
     /**
@@ -23,6 +23,7 @@ import net.minecraft.world.level.material.Fluid;
 import net.minecraft.world.level.material.FluidState;
 import net.minecraft.world.level.material.Fluids;
 import net.neoforged.fml.LogicalSide;
+import net.neoforged.neoforge.client.textures.FluidSpriteCache;
 import net.neoforged.neoforge.fluids.FluidStack;
 import net.neoforged.neoforge.fluids.FluidType;
 import org.jetbrains.annotations.Nullable;
@@ -250,6 +251,23 @@ public interface IClientFluidTypeExtensions {
         return this.getOverlayTexture();
     }
 
+    /**
+     * Returns whether the textures returned by {@link #getStillTexture(FluidState, BlockAndTintGetter, BlockPos)},
+     * {@link #getFlowingTexture(FluidState, BlockAndTintGetter, BlockPos)} and
+     * {@link #getOverlayTexture(FluidState, BlockAndTintGetter, BlockPos)} depend on the position of the fluid.
+     *
+     * <p>When this returns {@code false}, the sprites used to render the fluid in the world are only resolved
+     * once per {@link FluidState} and then reused until the next resource reload.
+     *
+     * <p>By default, the textures are assumed to depend on the position if any of these methods is overridden.
+     * Implementations which override them but only depend on the fluid state should return {@code false}.
+     *
+     * @return {@code true} if the textures may differ between positions for the same fluid state
+     */
+    default boolean hasPositionDependentTextures() {
+        return FluidSpriteCache.overridesPositionAwareGetters(this);
+    }
+
     /**
      * Returns the tint applied to the fluid's textures.
      *
@@ -64,10 +64,23 @@ public class GuiLayerManager {
     private void renderInner(GuiGraphics guiGraphics, DeltaTracker partialTick) {
         guiGraphics.pose().pushPose();
 
+        // The events are reused for every layer, instead of allocating two events per layer each frame
+        RenderGuiLayerEvent.Pre preEvent = null;
+        RenderGuiLayerEvent.Post postEvent = null;
         for (var layer : this.layers) {
-            if (!NeoForge.EVENT_BUS.post(new RenderGuiLayerEvent.Pre(guiGraphics, partialTick, layer.name(), layer.layer())).isCanceled()) {
+            if (preEvent == null) {
+                preEvent = new RenderGuiLayerEvent.Pre(guiGraphics, partialTick, layer.name(), layer.layer());
+            } else {
+                preEvent.setLayer(layer.name(), layer.layer());
+            }
+            if (!NeoForge.EVENT_BUS.post(preEvent).isCanceled()) {
                 layer.layer().render(guiGraphics, partialTick);
-                NeoForge.EVENT_BUS.post(new RenderGuiLayerEvent.Post(guiGraphics, partialTick, layer.name(), layer.layer()));
+                if (postEvent == null) {
+                    postEvent = new RenderGuiLayerEvent.Post(guiGraphics, partialTick, layer.name(), layer.layer());
+                } else {
+                    postEvent.setLayer(layer.name(), layer.layer());
+                }
+                NeoForge.EVENT_BUS.post(postEvent);
             }
 
             guiGraphics.pose().translate(0.0F, 0.0F, Z_SEPARATION);
@@ -10,8 +10,9 @@ import it.unimi.dsi.fastutil.longs.Long2ObjectFunction;
 import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
 import it.unimi.dsi.fastutil.longs.Long2ObjectMaps;
 import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
-import java.util.HashSet;
-import java.util.Set;
+import it.unimi.dsi.fastutil.longs.LongIterator;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.SectionPos;
 import net.minecraft.world.level.ChunkPos;
@@ -23,6 +24,7 @@ import net.neoforged.bus.api.SubscribeEvent;
 import net.neoforged.fml.common.EventBusSubscriber;
 import net.neoforged.fml.common.EventBusSubscriber.Bus;
 import net.neoforged.neoforge.event.level.ChunkEvent;
+import org.jetbrains.annotations.Nullable;
 import org.jetbrains.annotations.UnmodifiableView;
 
 /**
@@ -35,8 +37,9 @@ import org.jetbrains.annotations.UnmodifiableView;
 public class ModelDataManager {
     private final Thread owningThread = Thread.currentThread();
     private final Level level;
-    private final Long2ObjectMap<Set<BlockPos>> needModelDataRefresh = new Long2ObjectOpenHashMap<>();
-    private final Long2ObjectMap<Long2ObjectMap<ModelData>> modelDataCache = new Long2ObjectOpenHashMap<>();
+    private final Long2ObjectMap<LongSet> needModelDataRefresh = new Long2ObjectOpenHashMap<>();
+    private final Long2ObjectMap<SectionData> modelDataCache = new Long2ObjectOpenHashMap<>();
+    private long lastVersion = 0;
     public static final Long2ObjectFunction<ModelData> EMPTY_SNAPSHOT = pos -> ModelData.EMPTY;
 
     public ModelDataManager(Level level) {
@@ -54,16 +57,18 @@ public class ModelDataManager {
 
         Preconditions.checkNotNull(blockEntity, "BlockEntity must not be null");
         Preconditions.checkState(blockEntity.getLevel() == level, "BlockEntity does not belong to the level owning this manager");
-        needModelDataRefresh.computeIfAbsent(SectionPos.asLong(blockEntity.getBlockPos()), $ -> new HashSet<>())
-                .add(blockEntity.getBlockPos());
+        long pos = blockEntity.getBlockPos().asLong();
+        needModelDataRefresh.computeIfAbsent(SectionPos.blockToSection(pos), $ -> new LongOpenHashSet())
+                .add(pos);
     }
 
     /**
      * Provides all the model data for a given chunk section. This is useful for mods which wish to retrieve
      * a fast view of the model data for a single section in a level.
      *
-     * <p>The returned map must be copied if it needs to be accessed from another thread, as it may be modified
-     * by this data manager.
+     * <p>The returned map is an immutable snapshot, which is shared until the model data of the section changes.
+     * It can therefore be held on to and accessed from other threads.
+     * Like for sections without model data, {@link Long2ObjectMap#get(long)} returns {@code null} for positions without model data.
      *
      * @param pos the section to query
      * @return an (unmodifiable) map containing the {@link ModelData} stored for the given chunk section
@@ -72,14 +77,28 @@ public class ModelDataManager {
     public Long2ObjectMap<ModelData> getAt(SectionPos pos) {
         long sectionKey = pos.asLong();
         refreshAt(sectionKey);
-        var map = modelDataCache.get(sectionKey);
-        if (map != null) {
-            return Long2ObjectMaps.unmodifiable(map);
+        var data = modelDataCache.get(sectionKey);
+        if (data != null) {
+            return data.snapshot();
         } else {
             return Long2ObjectMaps.emptyMap();
         }
     }
 
+    /**
+     * {@return the version of the model data in the given chunk section}
+     * The version changes whenever model data in the section changes, and is {@code 0} for sections without model data.
+     * This is useful for mods which cache information derived from the model data of a section.
+     *
+     * @param pos the section to query
+     */
+    public long getVersion(SectionPos pos) {
+        long sectionKey = pos.asLong();
+        refreshAt(sectionKey);
+        var data = modelDataCache.get(sectionKey);
+        return data != null ? data.version : 0;
+    }
+
     /**
      * Retrieves model data for a block at the given position.
      *
@@ -90,29 +109,42 @@ public class ModelDataManager {
         Preconditions.checkArgument(level.isClientSide, "Cannot request model data for server level");
         long sectionPos = SectionPos.asLong(pos);
         refreshAt(sectionPos);
-        return modelDataCache.getOrDefault(sectionPos, Long2ObjectMaps.emptyMap()).getOrDefault(pos.asLong(), ModelData.EMPTY);
+        var data = modelDataCache.get(sectionPos);
+        return data != null ? data.data.getOrDefault(pos.asLong(), ModelData.EMPTY) : ModelData.EMPTY;
     }
 
     /**
      * Snapshot the state of this manager for all sections in the volume specified by the given section coordinates.
      * The snapshot will return {@link ModelData#EMPTY} for nonexistent keys.
+     *
+     * <p>The snapshot is a view over the immutable snapshots of the individual sections, so sections whose model data
+     * did not change since the last snapshot are not copied again.
      */
     public Long2ObjectFunction<ModelData> snapshotSectionRegion(int sectionMinX, int sectionMinY, int sectionMinZ, int sectionMaxX, int sectionMaxY, int sectionMaxZ) {
         if (isOtherThread()) {
             throw new UnsupportedOperationException("Cannot snapshot active manager outside the owning thread: " + owningThread);
         }
-        Long2ObjectMap<ModelData> cache = new Long2ObjectOpenHashMap<>();
-        cache.defaultReturnValue(ModelData.EMPTY);
+        int sizeX = sectionMaxX - sectionMinX + 1;
+        int sizeY = sectionMaxY - sectionMinY + 1;
+        int sizeZ = sectionMaxZ - sectionMinZ + 1;
+        Long2ObjectMap<ModelData>[] sections = null;
         for (int x = sectionMinX; x <= sectionMaxX; x++) {
             for (int y = sectionMinY; y <= sectionMaxY; y++) {
                 for (int z = sectionMinZ; z <= sectionMaxZ; z++) {
                     long sectionPos = SectionPos.asLong(x, y, z);
                     refreshAt(sectionPos);
-                    cache.putAll(modelDataCache.getOrDefault(sectionPos, Long2ObjectMaps.emptyMap()));
+                    var data = modelDataCache.get(sectionPos);
+                    if (data != null) {
+                        if (sections == null) {
+                            //noinspection unchecked
+                            sections = new Long2ObjectMap[sizeX * sizeY * sizeZ];
+                        }
+                        sections[((x - sectionMinX) * sizeY + (y - sectionMinY)) * sizeZ + (z - sectionMinZ)] = data.snapshot();
+                    }
                 }
             }
         }
-        return cache.isEmpty() ? EMPTY_SNAPSHOT : cache;
+        return sections == null ? EMPTY_SNAPSHOT : new RegionSnapshot(sections, sectionMinX, sectionMinY, sectionMinZ, sizeX, sizeY, sizeZ);
     }
 
     private void refreshAt(long section) {
@@ -120,11 +152,16 @@ public class ModelDataManager {
             return;
         }
 
-        Set<BlockPos> needUpdate = needModelDataRefresh.remove(section);
+        LongSet needUpdate = needModelDataRefresh.remove(section);
 
         if (needUpdate != null) {
-            Long2ObjectMap<ModelData> data = modelDataCache.computeIfAbsent(section, $ -> new Long2ObjectOpenHashMap<>());
-            for (BlockPos pos : needUpdate) {
+            SectionData sectionData = modelDataCache.computeIfAbsent(section, $ -> new SectionData());
+            Long2ObjectMap<ModelData> data = sectionData.data;
+            BlockPos.MutableBlockPos pos = new BlockPos.MutableBlockPos();
+            boolean changed = false;
+            for (LongIterator it = needUpdate.iterator(); it.hasNext();) {
+                long packedPos = it.nextLong();
+                pos.set(packedPos);
                 BlockEntity toUpdate = level.getBlockEntity(pos);
                 ModelData newData = ModelData.EMPTY;
                 // Query the BE for new model data if it exists
@@ -137,19 +174,72 @@ public class ModelDataManager {
                     }
                 }
                 // Make sure we don't bother storing empty data in the map
-                if (newData != ModelData.EMPTY) {
-                    data.put(pos.asLong(), newData);
-                } else {
-                    data.remove(pos.asLong());
+                ModelData oldData = newData != ModelData.EMPTY ? data.put(packedPos, newData) : data.remove(packedPos);
+                if (oldData != newData) {
+                    changed = true;
                 }
             }
             // Remove the map completely if it's now empty
             if (data.isEmpty()) {
                 modelDataCache.remove(section);
+            } else if (changed) {
+                sectionData.invalidate(++lastVersion);
             }
         }
     }
 
+    /**
+     * The model data of a single section, together with a lazily created immutable snapshot of it.
+     */
+    private static final class SectionData {
+        private final Long2ObjectMap<ModelData> data = new Long2ObjectOpenHashMap<>();
+        @Nullable
+        private Long2ObjectMap<ModelData> snapshot;
+        private long version;
+
+        private SectionData() {
+            data.defaultReturnValue(ModelData.EMPTY);
+        }
+
+        private Long2ObjectMap<ModelData> snapshot() {
+            if (snapshot == null) {
+                // Like the empty map returned for sections without model data, the snapshot returns null for missing positions
+                var copy = new Long2ObjectOpenHashMap<>(data);
+                copy.defaultReturnValue(null);
+                snapshot = Long2ObjectMaps.unmodifiable(copy);
+            }
+            return snapshot;
+        }
+
+        private void invalidate(long version) {
+            this.version = version;
+            this.snapshot = null;
+        }
+    }
+
+    /**
+     * A view over the snapshots of all sections in a region, indexed by their position relative to the region.
+     */
+    private record RegionSnapshot(Long2ObjectMap<ModelData>[] sections, int minX, int minY, int minZ, int sizeX, int sizeY, int sizeZ) implements Long2ObjectFunction<ModelData> {
+        @Override
+        public ModelData get(long pos) {
+            int x = SectionPos.blockToSectionCoord(BlockPos.getX(pos)) - minX;
+            int y = SectionPos.blockToSectionCoord(BlockPos.getY(pos)) - minY;
+            int z = SectionPos.blockToSectionCoord(BlockPos.getZ(pos)) - minZ;
+            if (x < 0 || y < 0 || z < 0 || x >= sizeX || y >= sizeY || z >= sizeZ) {
+                return ModelData.EMPTY;
+            }
+            var section = sections[(x * sizeY + y) * sizeZ + z];
+            ModelData data = section != null ? section.get(pos) : null;
+            return data != null ? data : ModelData.EMPTY;
+        }
+
+        @Override
+        public ModelData defaultReturnValue() {
+            return ModelData.EMPTY;
+        }
+    }
+
     private boolean isOtherThread() {
         return Thread.currentThread() != owningThread;
     }
@@ -5,20 +5,36 @@
 
 package net.neoforged.neoforge.client.model.data;
 
+import it.unimi.dsi.fastutil.objects.Reference2IntMap;
+import it.unimi.dsi.fastutil.objects.Reference2IntOpenHashMap;
+import java.util.ArrayList;
 import java.util.BitSet;
-import java.util.IdentityHashMap;
 import java.util.List;
-import java.util.Map;
 import net.minecraft.client.resources.model.BakedModel;
 import net.minecraft.client.resources.model.MultiPartBakedModel;
 import net.minecraft.core.BlockPos;
 import net.minecraft.world.level.BlockAndTintGetter;
 import net.minecraft.world.level.block.state.BlockState;
+import net.neoforged.neoforge.client.extensions.IBakedModelExtension;
 import org.jetbrains.annotations.ApiStatus;
 
 @ApiStatus.Internal
 public class MultipartModelData {
-    private static final ModelProperty<Map<BakedModel, ModelData>> PROPERTY = new ModelProperty<>();
+    private static final ModelProperty<PartData> PROPERTY = new ModelProperty<>();
+    /**
+     * Whether a model class overrides {@link IBakedModelExtension#getModelData}, and may therefore return data differing from the one passed in.
+     */
+    private static final ClassValue<Boolean> OVERRIDES_MODEL_DATA = new ClassValue<>() {
+        @Override
+        protected Boolean computeValue(Class<?> type) {
+            try {
+                var method = type.getMethod("getModelData", BlockAndTintGetter.class, BlockPos.class, BlockState.class, ModelData.class);
+                return method.getDeclaringClass() != IBakedModelExtension.class;
+            } catch (NoSuchMethodException e) {
+                return true;
+            }
+        }
+    };
 
     /**
      * Helper to get the data from a {@link ModelData} instance.
@@ -31,28 +47,75 @@ public class MultipartModelData {
         var multipartData = modelData.get(PROPERTY);
         if (multipartData == null)
             return modelData;
-        var partData = multipartData.get(model);
+        int index = multipartData.parts().indices.getInt(model);
+        if (index < 0)
+            return modelData;
+        var partData = multipartData.data()[index];
         return partData != null ? partData : modelData;
     }
 
-    public static ModelData create(List<MultiPartBakedModel.Selector> selectors, BitSet bitset, BlockAndTintGetter level, BlockPos pos, BlockState state, ModelData tileModelData) {
-        // Don't allocate memory if no submodel changes the model data
-        Map<BakedModel, ModelData> dataMap = null;
-
+    /**
+     * Finds the parts of a multipart model that are selected by a block state and may provide their own model data.
+     * The result only depends on the block state and is meant to be cached per state.
+     */
+    public static OverridingParts findOverridingParts(List<MultiPartBakedModel.Selector> selectors, BitSet bitset) {
+        var indices = new Reference2IntOpenHashMap<BakedModel>();
+        indices.defaultReturnValue(-1);
+        var models = new ArrayList<BakedModel>();
         for (int i = 0; i < bitset.length(); ++i) {
             if (bitset.get(i)) {
                 var model = selectors.get(i).model();
-                var data = model.getModelData(level, pos, state, tileModelData);
+                // The same model may be selected by several selectors, it only needs to be queried once
+                if (OVERRIDES_MODEL_DATA.get(model.getClass()) && !indices.containsKey(model)) {
+                    indices.put(model, models.size());
+                    models.add(model);
+                }
+            }
+        }
+        if (models.isEmpty())
+            return OverridingParts.NONE;
+        indices.trim();
+        return new OverridingParts(models.toArray(BakedModel[]::new), indices);
+    }
 
-                if (data != tileModelData) {
-                    if (dataMap == null)
-                        dataMap = new IdentityHashMap<>();
+    public static ModelData create(OverridingParts parts, BlockAndTintGetter level, BlockPos pos, BlockState state, ModelData tileModelData) {
+        // Don't allocate memory if no submodel changes the model data
+        ModelData[] data = null;
 
-                    dataMap.put(model, data);
-                }
+        var models = parts.models;
+        for (int i = 0; i < models.length; ++i) {
+            var partData = models[i].getModelData(level, pos, state, tileModelData);
+
+            if (partData != tileModelData) {
+                if (data == null)
+                    data = new ModelData[models.length];
+
+                data[i] = partData;
             }
         }
 
-        return dataMap == null ? tileModelData : tileModelData.derive().with(PROPERTY, dataMap).build();
+        return data == null ? tileModelData : tileModelData.derive().with(PROPERTY, new PartData(parts, data)).build();
     }
+
+    /**
+     * The parts of a multipart model selected by a block state that may provide their own model data.
+     * Shared by all blocks in that state, so that the per-block data only consists of an array.
+     */
+    public static final class OverridingParts {
+        private static final OverridingParts NONE = new OverridingParts(new BakedModel[0], new Reference2IntOpenHashMap<>());
+
+        private final BakedModel[] models;
+        private final Reference2IntMap<BakedModel> indices;
+
+        private OverridingParts(BakedModel[] models, Reference2IntMap<BakedModel> indices) {
+            this.models = models;
+            this.indices = indices;
+            this.indices.defaultReturnValue(-1);
+        }
+    }
+
+    /**
+     * @param data the data of each overriding part, {@code null} for parts that use the data of the multipart model
+     */
+    private record PartData(OverridingParts parts, ModelData[] data) {}
 }
@@ -34,7 +34,7 @@ public class FlatQuadLighter extends QuadLighter {
     protected void computeLightingAt(BlockAndTintGetter level, BlockPos pos, BlockState state) {
         isFullCube = Block.isShapeFullBlock(state.getCollisionShape(level, pos));
         for (Direction side : SIDES) {
-            packedLight[side.ordinal()] = LevelRenderer.getLightColor(level, state, pos.relative(side));
+            packedLight[side.ordinal()] = LevelRenderer.getLightColor(level, state, neighborPos.setWithOffset(pos, side));
         }
         packedLight[6] = LevelRenderer.getLightColor(level, state, pos);
     }
@@ -58,32 +58,22 @@ public class LightPipelineAwareModelBlockRenderer extends ModelBlockRenderer {
     }
 
     public static boolean render(VertexConsumer vertexConsumer, QuadLighter lighter, BlockAndTintGetter level, BakedModel model, BlockState state, BlockPos pos, PoseStack poseStack, boolean checkSides, RandomSource rand, long seed, int packedOverlay, ModelData modelData, RenderType renderType) {
-        LightPipelineAwareModelBlockRenderer renderer = (LightPipelineAwareModelBlockRenderer) Minecraft.getInstance().getBlockRenderer().getModelRenderer();
         var pose = poseStack.last();
-        var empty = true;
-        var smoothLighter = lighter instanceof SmoothQuadLighter;
-        QuadLighter flatLighter = null;
+        // Only fetched when the model has quads without ambient occlusion while being lit smoothly
+        QuadLighter flatLighter = lighter instanceof SmoothQuadLighter ? null : lighter;
+        boolean empty = true;
 
         rand.setSeed(seed);
         List<BakedQuad> quads = model.getQuads(state, null, rand, modelData, renderType);
         if (!quads.isEmpty()) {
             empty = false;
             lighter.setup(level, pos, state);
-            for (BakedQuad quad : quads) {
-                if (smoothLighter && !quad.hasAmbientOcclusion()) {
-                    if (flatLighter == null) {
-                        flatLighter = renderer.flatLighter.get();
-                        flatLighter.setup(level, pos, state);
-                    }
-                    flatLighter.process(vertexConsumer, pose, quad, packedOverlay);
-                } else {
-                    lighter.process(vertexConsumer, pose, quad, packedOverlay);
-                }
-            }
+            flatLighter = renderQuads(vertexConsumer, lighter, flatLighter, level, state, pos, pose, quads, packedOverlay);
         }
 
+        BlockPos.MutableBlockPos neighborPos = lighter.neighborPos;
         for (Direction side : SIDES) {
-            if (checkSides && !Block.shouldRenderFace(level, pos, state, level.getBlockState(pos.relative(side)), side)) {
+            if (checkSides && !Block.shouldRenderFace(level, pos, state, level.getBlockState(neighborPos.setWithOffset(pos, side)), side)) {
                 continue;
             }
             rand.setSeed(seed);
@@ -93,25 +83,37 @@ public class LightPipelineAwareModelBlockRenderer extends ModelBlockRenderer {
                     empty = false;
                     lighter.setup(level, pos, state);
                 }
-                for (BakedQuad quad : quads) {
-                    if (smoothLighter && !quad.hasAmbientOcclusion()) {
-                        if (flatLighter == null) {
-                            flatLighter = renderer.flatLighter.get();
-                            flatLighter.setup(level, pos, state);
-                        }
-                        flatLighter.process(vertexConsumer, pose, quad, packedOverlay);
-                    } else {
-                        lighter.process(vertexConsumer, pose, quad, packedOverlay);
-                    }
-                }
+                flatLighter = renderQuads(vertexConsumer, lighter, flatLighter, level, state, pos, pose, quads, packedOverlay);
             }
         }
         lighter.reset();
-        if (flatLighter != null)
+        if (flatLighter != null && flatLighter != lighter)
             flatLighter.reset();
         return !empty;
     }
 
+    /**
+     * Lights and emits all quads of one face, falling back to flat lighting for quads without ambient occlusion.
+     *
+     * @return the flat lighter, if it has been set up
+     */
+    private static QuadLighter renderQuads(VertexConsumer vertexConsumer, QuadLighter lighter, QuadLighter flatLighter, BlockAndTintGetter level, BlockState state, BlockPos pos, PoseStack.Pose pose, List<BakedQuad> quads, int packedOverlay) {
+        for (int i = 0, size = quads.size(); i < size; i++) {
+            BakedQuad quad = quads.get(i);
+            if (flatLighter != lighter && !quad.hasAmbientOcclusion()) {
+                if (flatLighter == null) {
+                    LightPipelineAwareModelBlockRenderer renderer = (LightPipelineAwareModelBlockRenderer) Minecraft.getInstance().getBlockRenderer().getModelRenderer();
+                    flatLighter = renderer.flatLighter.get();
+                    flatLighter.setup(level, pos, state);
+                }
+                flatLighter.process(vertexConsumer, pose, quad, packedOverlay);
+            } else {
+                lighter.process(vertexConsumer, pose, quad, packedOverlay);
+            }
+        }
+        return flatLighter;
+    }
+
     public QuadLighter getQuadLighter(boolean smooth) {
         return (smooth ? smoothLighter : flatLighter).get();
     }
@@ -8,7 +8,6 @@ package net.neoforged.neoforge.client.model.lighting;
 import com.mojang.blaze3d.vertex.DefaultVertexFormat;
 import com.mojang.blaze3d.vertex.PoseStack;
 import com.mojang.blaze3d.vertex.VertexConsumer;
-import java.util.Objects;
 import net.minecraft.client.color.block.BlockColors;
 import net.minecraft.client.renderer.block.model.BakedQuad;
 import net.minecraft.core.BlockPos;
@@ -30,7 +29,7 @@ public abstract class QuadLighter {
 
     private final BlockColors colors;
 
-    private int currentHash = 0;
+    private long currentPos;
     private BlockAndTintGetter level;
     private BlockPos pos;
     private BlockState state;
@@ -47,6 +46,8 @@ public abstract class QuadLighter {
     private final Vector3f a = new Vector3f();
     private final Vector3f ab = new Vector3f();
     private final Vector3f ac = new Vector3f();
+    // Scratch position for neighbor lookups, shared by the lighters and by LightPipelineAwareModelBlockRenderer for face culling
+    final BlockPos.MutableBlockPos neighborPos = new BlockPos.MutableBlockPos();
 
     protected QuadLighter(BlockColors colors) {
         this.colors = colors;
@@ -66,11 +67,12 @@ public abstract class QuadLighter {
      * @param state the block state at this position
      */
     public final void setup(BlockAndTintGetter level, BlockPos pos, BlockState state) {
-        var hash = Objects.hash(level, pos, state);
-        if (this.level != null && this.currentHash == hash) {
+        // The position may be mutable, so compare its packed value rather than the instance
+        long packedPos = pos.asLong();
+        if (this.level == level && this.state == state && this.currentPos == packedPos) {
             return; // If we are drawing a block at the same position as before, don't re-compute anything
         }
-        this.currentHash = hash;
+        this.currentPos = packedPos;
         this.level = level;
         this.pos = pos;
         this.state = state;
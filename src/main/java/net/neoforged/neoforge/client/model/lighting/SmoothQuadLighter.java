@@ -6,8 +6,8 @@
 package net.neoforged.neoforge.client.model.lighting;
 
 import net.minecraft.client.color.block.BlockColors;
-import net.minecraft.client.renderer.LevelRenderer;
 import net.minecraft.client.renderer.LightTexture;
+import net.minecraft.client.renderer.block.ModelBlockRenderer;
 import net.minecraft.client.renderer.block.model.BakedQuad;
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.Direction;
@@ -23,6 +23,19 @@ import net.minecraft.world.phys.shapes.Shapes;
  */
 public class SmoothQuadLighter extends QuadLighter {
     private static final Direction[] SIDES = Direction.values();
+    // Whether a subclass overrides calcLightmap, in which case the lightmap must still be calculated through it
+    private static final ClassValue<Boolean> OVERRIDES_CALC_LIGHTMAP = new ClassValue<>() {
+        @Override
+        protected Boolean computeValue(Class<?> type) {
+            for (Class<?> c = type; c != SmoothQuadLighter.class; c = c.getSuperclass()) {
+                try {
+                    c.getDeclaredMethod("calcLightmap", float[][][][].class, float.class, float.class, float.class);
+                    return true;
+                } catch (NoSuchMethodException ignored) {}
+            }
+            return false;
+        }
+    };
 
     private final BlockPos.MutableBlockPos pos = new BlockPos.MutableBlockPos();
     private final boolean[][][] t = new boolean[3][3][3];
@@ -31,31 +44,37 @@ public class SmoothQuadLighter extends QuadLighter {
     private final float[][][][] skyLight = new float[3][2][2][2];
     private final float[][][][] blockLight = new float[3][2][2][2];
     private final float[][][] ao = new float[3][3][3];
+    // Interpolation weights of the last lightmap position, shared between the block and sky light
+    private final float[] weights = new float[24];
+    private final boolean overridesCalcLightmap;
 
     public SmoothQuadLighter(BlockColors colors) {
         super(colors);
+        this.overridesCalcLightmap = OVERRIDES_CALC_LIGHTMAP.get(getClass());
     }
 
     @Override
     protected void computeLightingAt(BlockAndTintGetter level, BlockPos origin, BlockState state) {
+        // While a section is being built, the light and shade of each position are cached between neighbouring blocks
+        ModelBlockRenderer.Cache cache = ModelBlockRenderer.CACHE.get();
         for (int x = 0; x <= 2; x++) {
             for (int y = 0; y <= 2; y++) {
                 for (int z = 0; z <= 2; z++) {
                     pos.setWithOffset(origin, x - 1, y - 1, z - 1);
                     BlockState neighborState = level.getBlockState(pos);
                     t[x][y][z] = neighborState.getLightBlock() < 15;
-                    int brightness = LevelRenderer.getLightColor(level, neighborState, pos);
+                    int brightness = cache.getLightColor(neighborState, level, pos);
                     s[x][y][z] = LightTexture.sky(brightness);
                     b[x][y][z] = LightTexture.block(brightness);
-                    ao[x][y][z] = neighborState.getShadeBrightness(level, pos);
+                    ao[x][y][z] = cache.getShadeBrightness(neighborState, level, pos);
                 }
             }
         }
+        BlockState thisStateShape = state.canOcclude() && state.useShapeForLightOcclusion() ? state : Blocks.AIR.defaultBlockState();
         for (Direction side : SIDES) {
             pos.setWithOffset(origin, side);
             BlockState neighborState = level.getBlockState(pos);
 
-            BlockState thisStateShape = state.canOcclude() && state.useShapeForLightOcclusion() ? state : Blocks.AIR.defaultBlockState();
             BlockState otherStateShape = neighborState.canOcclude() && neighborState.useShapeForLightOcclusion() ? neighborState : Blocks.AIR.defaultBlockState();
 
             if (neighborState.getLightBlock() == 15 || Shapes.faceShapeOccludes(thisStateShape.getFaceOcclusionShape(side), otherStateShape.getFaceOcclusionShape(side.getOpposite()))) {
@@ -131,8 +150,15 @@ public class SmoothQuadLighter extends QuadLighter {
 
     @Override
     protected int calculateLightmap(float[] position, byte[] normal) {
-        var block = (int) (calcLightmap(blockLight, position[0], position[1], position[2]) * 0xF0);
-        var sky = (int) (calcLightmap(skyLight, position[0], position[1], position[2]) * 0xF0);
+        if (overridesCalcLightmap) {
+            var block = (int) (calcLightmap(blockLight, position[0], position[1], position[2]) * 0xF0);
+            var sky = (int) (calcLightmap(skyLight, position[0], position[1], position[2]) * 0xF0);
+            return block | (sky << 16);
+        }
+        // Block and sky light are interpolated at the same position, so the weights only need to be computed once
+        float weightSum = computeWeights(position[0], position[1], position[2]);
+        var block = (int) (applyWeights(blockLight, weightSum) * 0xF0);
+        var sky = (int) (applyWeights(skyLight, weightSum) * 0xF0);
         return block | (sky << 16);
     }
 
@@ -145,6 +171,15 @@ public class SmoothQuadLighter extends QuadLighter {
     }
 
     protected float calcLightmap(float[][][][] light, float x, float y, float z) {
+        return applyWeights(light, computeWeights(x, y, z));
+    }
+
+    /**
+     * Computes the interpolation weights of the light values around the given position into {@link #weights}.
+     *
+     * @return the sum of all weights
+     */
+    private float computeWeights(float x, float y, float z) {
         x *= 2;
         y *= 2;
         z *= 2;
@@ -188,8 +223,9 @@ public class SmoothQuadLighter extends QuadLighter {
             z *= s;
         }
 
-        float l = 0;
+        float[] weights = this.weights;
         float s = 0;
+        int i = 0;
 
         for (int ix = 0; ix <= 1; ix++) {
             for (int iy = 0; iy <= 1; iy++) {
@@ -204,21 +240,36 @@ public class SmoothQuadLighter extends QuadLighter {
                     float sz = vx + vy + 3;
 
                     float bx = (2 * vx + vy + vz + 6) / (s3 * sy * sz * (vx + 2));
-                    s += bx;
-                    l += bx * light[0][ix][iy][iz];
-
                     float by = (2 * vy + vz + vx + 6) / (s3 * sz * sx * (vy + 2));
-                    s += by;
-                    l += by * light[1][ix][iy][iz];
-
                     float bz = (2 * vz + vx + vy + 6) / (s3 * sx * sy * (vz + 2));
+                    weights[i++] = bx;
+                    weights[i++] = by;
+                    weights[i++] = bz;
+                    s += bx;
+                    s += by;
                     s += bz;
-                    l += bz * light[2][ix][iy][iz];
+                }
+            }
+        }
+        return s;
+    }
+
+    private float applyWeights(float[][][][] light, float weightSum) {
+        float[] weights = this.weights;
+        float l = 0;
+        int i = 0;
+
+        for (int ix = 0; ix <= 1; ix++) {
+            for (int iy = 0; iy <= 1; iy++) {
+                for (int iz = 0; iz <= 1; iz++) {
+                    l += weights[i++] * light[0][ix][iy][iz];
+                    l += weights[i++] * light[1][ix][iy][iz];
+                    l += weights[i++] * light[2][ix][iy][iz];
                 }
             }
         }
 
-        l /= s;
+        l /= weightSum;
         l = Mth.clamp(l, 0, 1);
         return l;
     }
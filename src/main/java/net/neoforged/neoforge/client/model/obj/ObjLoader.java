@@ -10,6 +10,7 @@ import com.google.gson.JsonDeserializationContext;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParseException;
 import java.io.FileNotFoundException;
+import java.io.InputStream;
 import java.util.Map;
 import net.minecraft.client.Minecraft;
 import net.minecraft.resources.ResourceLocation;
@@ -19,6 +20,7 @@ import net.minecraft.server.packs.resources.ResourceManagerReloadListener;
 import net.minecraft.util.GsonHelper;
 import net.neoforged.neoforge.client.model.StandardModelParameters;
 import net.neoforged.neoforge.client.model.UnbakedModelLoader;
+import net.neoforged.neoforge.common.NeoForgeConfig;
 
 /**
  * A loader for {@link ObjModel OBJ models}.
@@ -60,6 +62,15 @@ public class ObjLoader implements UnbakedModelLoader<ObjModel>, ResourceManagerR
     public ObjModel loadModel(ObjModel.ModelSettings settings) {
         return modelCache.computeIfAbsent(settings, (data) -> {
             Resource resource = manager.getResource(settings.modelLocation()).orElseThrow();
+            if (NeoForgeConfig.CLIENT.cacheObjModels.getAsBoolean()) {
+                try (InputStream stream = resource.open()) {
+                    return ObjModelCache.load(stream, settings);
+                } catch (FileNotFoundException e) {
+                    throw new RuntimeException("Could not find OBJ model", e);
+                } catch (Exception e) {
+                    throw new RuntimeException("Could not read OBJ model", e);
+                }
+            }
             try (ObjTokenizer tokenizer = new ObjTokenizer(resource.open())) {
                 return ObjModel.parse(tokenizer, settings);
             } catch (FileNotFoundException e) {
@@ -9,13 +9,13 @@ import com.google.common.collect.Lists;
 import com.google.common.collect.Multimap;
 import com.google.common.collect.MultimapBuilder;
 import com.mojang.math.Transformation;
+import java.io.DataInput;
+import java.io.DataOutput;
 import java.io.IOException;
-import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
-import joptsimple.internal.Strings;
 import net.minecraft.client.data.models.model.TextureSlot;
 import net.minecraft.client.renderer.LightTexture;
 import net.minecraft.client.renderer.block.model.BakedQuad;
@@ -83,197 +83,338 @@ public class ObjModel extends AbstractUnbakedModel {
     }
 
     public static ObjModel parse(ObjTokenizer tokenizer, ModelSettings settings) throws IOException {
-        var modelLocation = settings.modelLocation;
-        var materialLibraryOverrideLocation = settings.mtlOverride;
-        var model = new ObjModel(settings);
+        return parse(tokenizer, settings, null);
+    }
+
+    /**
+     * Parses the model, optionally recording the parsed statements for the {@link ObjModelCache}.
+     */
+    static ObjModel parse(ObjTokenizer tokenizer, ModelSettings settings, @Nullable DataOutput recorder) throws IOException {
+        var parser = new Parser(settings, recorder);
+        while (tokenizer.nextLine()) {
+            if (tokenizer.tokenEquals(0, "v")) { // Vertex
+                float x = floatOrDefault(tokenizer, 1, 0);
+                float y = floatOrDefault(tokenizer, 2, 0);
+                float z = floatOrDefault(tokenizer, 3, 0);
+                float w = floatOrDefault(tokenizer, 4, tokenizer.tokenCount() > 1 ? 1 : 0);
+                parser.position(x / w, y / w, z / w);
+            } else if (tokenizer.tokenEquals(0, "vt")) { // Vertex texcoord
+                parser.texCoord(floatOrDefault(tokenizer, 1, 0), floatOrDefault(tokenizer, 2, 0));
+            } else if (tokenizer.tokenEquals(0, "vn")) { // Vertex normal
+                parser.normal(floatOrDefault(tokenizer, 1, 0), floatOrDefault(tokenizer, 2, 0), floatOrDefault(tokenizer, 3, 0));
+            } else if (tokenizer.tokenEquals(0, "vc")) { // Vertex color (non-standard)
+                parser.color(floatOrDefault(tokenizer, 1, 0), floatOrDefault(tokenizer, 2, 0), floatOrDefault(tokenizer, 3, 0),
+                        floatOrDefault(tokenizer, 4, tokenizer.tokenCount() > 1 ? 1 : 0));
+            } else if (tokenizer.tokenEquals(0, "f")) { // Face
+                var model = parser.model;
+                int[][] vertices = new int[tokenizer.tokenCount() - 1][];
+                for (int i = 0; i < vertices.length; i++) {
+                    int[] vertex = tokenizer.slashSeparatedInts(i + 1);
+                    if (vertex[0] < 0) vertex[0] = model.positions.size() + vertex[0];
+                    else vertex[0]--;
+                    if (vertex.length > 1) {
+                        if (vertex[1] < 0) vertex[1] = model.texCoords.size() + vertex[1];
+                        else vertex[1]--;
+                        if (vertex.length > 2) {
+                            if (vertex[2] < 0) vertex[2] = model.normals.size() + vertex[2];
+                            else vertex[2]--;
+                            if (vertex.length > 3) {
+                                if (vertex[3] < 0) vertex[3] = model.colors.size() + vertex[3];
+                                else vertex[3]--;
+                            }
+                        }
+                    }
+                    vertices[i] = vertex;
+                }
+                parser.face(vertices);
+            } else if (tokenizer.tokenEquals(0, "mtllib")) { // Loads material library
+                parser.materialLibrary(tokenizer.token(1));
+            } else if (tokenizer.tokenEquals(0, "usemtl")) { // Sets the current material (starts new mesh)
+                parser.useMaterial(tokenizer.joinTokens(1));
+            } else if (tokenizer.tokenEquals(0, "s")) { // Smoothing group (starts new mesh)
+                parser.smoothingGroup(tokenizer.token(1));
+            } else if (tokenizer.tokenEquals(0, "g")) {
+                parser.group(tokenizer.token(1));
+            } else if (tokenizer.tokenEquals(0, "o")) {
+                parser.object(tokenizer.token(1));
+            }
+        }
+        parser.end();
+        return parser.model;
+    }
+
+    private static float floatOrDefault(ObjTokenizer tokenizer, int index, float defaultValue) {
+        return index < tokenizer.tokenCount() ? tokenizer.floatToken(index) : defaultValue;
+    }
 
+    /**
+     * Builds a model from the parsed statements of an OBJ file.
+     * <p>
+     * The statements are either read from the OBJ file itself or replayed from the {@link ObjModelCache}.
+     * If a recorder is given, each statement is also written to it in the format read by {@link #replay(DataInput)}.
+     */
+    static final class Parser {
+        static final byte POSITION = 0;
+        static final byte TEX_COORD = 1;
+        static final byte NORMAL = 2;
+        static final byte COLOR = 3;
+        static final byte FACE = 4;
+        static final byte MATERIAL_LIBRARY = 5;
+        static final byte USE_MATERIAL = 6;
+        static final byte SMOOTHING_GROUP = 7;
+        static final byte GROUP = 8;
+        static final byte OBJECT = 9;
+        static final byte END = 10;
+
+        final ObjModel model;
+        @Nullable
+        private final DataOutput recorder;
+        @Nullable
+        private final String materialLibraryOverrideLocation;
         // for relative references to material libraries
-        String modelDomain = modelLocation.getNamespace();
-        String modelPath = modelLocation.getPath();
-        int lastSlash = modelPath.lastIndexOf('/');
-        if (lastSlash >= 0)
-            modelPath = modelPath.substring(0, lastSlash + 1); // include the '/'
-        else
-            modelPath = "";
-
-        ObjMaterialLibrary mtllib = ObjMaterialLibrary.EMPTY;
-        ObjMaterialLibrary.Material currentMat = null;
-        String currentSmoothingGroup = null;
-        ModelGroup currentGroup = null;
-        ModelObject currentObject = null;
-        ModelMesh currentMesh = null;
-
-        boolean objAboveGroup = false;
-
-        if (materialLibraryOverrideLocation != null) {
-            String lib = materialLibraryOverrideLocation;
-            if (lib.contains(":"))
-                mtllib = ObjLoader.INSTANCE.loadMaterialLibrary(ResourceLocation.parse(lib));
+        private final String modelDomain;
+        private final String modelPath;
+
+        private ObjMaterialLibrary mtllib = ObjMaterialLibrary.EMPTY;
+        private ObjMaterialLibrary.@Nullable Material currentMat = null;
+        @Nullable
+        private String currentSmoothingGroup = null;
+        @Nullable
+        private ModelGroup currentGroup = null;
+        @Nullable
+        private ModelObject currentObject = null;
+        @Nullable
+        private ModelMesh currentMesh = null;
+
+        private boolean objAboveGroup = false;
+
+        Parser(ModelSettings settings, @Nullable DataOutput recorder) {
+            this.model = new ObjModel(settings);
+            this.recorder = recorder;
+            this.materialLibraryOverrideLocation = settings.mtlOverride;
+
+            var modelLocation = settings.modelLocation;
+            String modelPath = modelLocation.getPath();
+            int lastSlash = modelPath.lastIndexOf('/');
+            if (lastSlash >= 0)
+                modelPath = modelPath.substring(0, lastSlash + 1); // include the '/'
             else
-                mtllib = ObjLoader.INSTANCE.loadMaterialLibrary(ResourceLocation.fromNamespaceAndPath(modelDomain, modelPath + lib));
-        }
+                modelPath = "";
+            this.modelDomain = modelLocation.getNamespace();
+            this.modelPath = modelPath;
 
-        String[] line;
-        while ((line = tokenizer.readAndSplitLine(true)) != null) {
-            switch (line[0]) {
-                case "mtllib": // Loads material library
-                {
-                    if (materialLibraryOverrideLocation != null)
-                        break;
-
-                    String lib = line[1];
-                    if (lib.contains(":"))
-                        mtllib = ObjLoader.INSTANCE.loadMaterialLibrary(ResourceLocation.parse(lib));
-                    else
-                        mtllib = ObjLoader.INSTANCE.loadMaterialLibrary(ResourceLocation.fromNamespaceAndPath(modelDomain, modelPath + lib));
-                    break;
-                }
+            if (materialLibraryOverrideLocation != null) {
+                mtllib = loadMaterialLibrary(materialLibraryOverrideLocation);
+            }
+        }
 
-                case "usemtl": // Sets the current material (starts new mesh)
-                {
-                    String mat = Strings.join(Arrays.copyOfRange(line, 1, line.length), " ");
-                    ObjMaterialLibrary.Material newMat = mtllib.getMaterial(mat);
-                    if (!Objects.equals(newMat, currentMat)) {
-                        currentMat = newMat;
-                        if (currentMesh != null && currentMesh.mat == null && currentMesh.faces.size() == 0) {
-                            currentMesh.mat = currentMat;
-                        } else {
-                            // Start new mesh
-                            currentMesh = null;
+        /**
+         * Replays statements previously written by a recorder, up to the end marker.
+         */
+        void replay(DataInput input) throws IOException {
+            while (true) {
+                byte statement = input.readByte();
+                switch (statement) {
+                    case POSITION -> position(input.readFloat(), input.readFloat(), input.readFloat());
+                    case TEX_COORD -> texCoord(input.readFloat(), input.readFloat());
+                    case NORMAL -> normal(input.readFloat(), input.readFloat(), input.readFloat());
+                    case COLOR -> color(input.readFloat(), input.readFloat(), input.readFloat(), input.readFloat());
+                    case FACE -> {
+                        int[][] vertices = new int[input.readInt()][];
+                        for (int i = 0; i < vertices.length; i++) {
+                            int[] vertex = new int[input.readUnsignedByte()];
+                            for (int j = 0; j < vertex.length; j++) {
+                                vertex[j] = input.readInt();
+                            }
+                            vertices[i] = vertex;
                         }
+                        face(vertices);
+                    }
+                    case MATERIAL_LIBRARY -> materialLibrary(input.readUTF());
+                    case USE_MATERIAL -> useMaterial(input.readUTF());
+                    case SMOOTHING_GROUP -> smoothingGroup(input.readUTF());
+                    case GROUP -> group(input.readUTF());
+                    case OBJECT -> object(input.readUTF());
+                    case END -> {
+                        return;
                     }
-                    break;
+                    default -> throw new IOException("Unknown OBJ statement " + statement);
                 }
+            }
+        }
 
-                case "v": // Vertex
-                    model.positions.add(parseVector4To3(line));
-                    break;
-                case "vt": // Vertex texcoord
-                    model.texCoords.add(parseVector2(line));
-                    break;
-                case "vn": // Vertex normal
-                    model.normals.add(parseVector3(line));
-                    break;
-                case "vc": // Vertex color (non-standard)
-                    model.colors.add(parseVector4(line));
-                    break;
-
-                case "f": // Face
-                {
-                    if (currentMesh == null) {
-                        currentMesh = model.new ModelMesh(currentMat, currentSmoothingGroup);
-                        if (currentObject != null) {
-                            currentObject.meshes.add(currentMesh);
-                        } else {
-                            if (currentGroup == null) {
-                                currentGroup = model.new ModelGroup("");
-                                model.parts.put("", currentGroup);
-                            }
-                            currentGroup.meshes.add(currentMesh);
-                        }
-                    }
+        /**
+         * Marks the end of the recorded statements.
+         */
+        void end() throws IOException {
+            if (recorder != null) {
+                recorder.writeByte(END);
+            }
+        }
 
-                    int[][] vertices = new int[line.length - 1][];
-                    for (int i = 0; i < vertices.length; i++) {
-                        String vertexData = line[i + 1];
-                        String[] vertexParts = vertexData.split("/");
-                        int[] vertex = Arrays.stream(vertexParts).mapToInt(num -> Strings.isNullOrEmpty(num) ? 0 : Integer.parseInt(num)).toArray();
-                        if (vertex[0] < 0) vertex[0] = model.positions.size() + vertex[0];
-                        else vertex[0]--;
-                        if (vertex.length > 1) {
-                            if (vertex[1] < 0) vertex[1] = model.texCoords.size() + vertex[1];
-                            else vertex[1]--;
-                            if (vertex.length > 2) {
-                                if (vertex[2] < 0) vertex[2] = model.normals.size() + vertex[2];
-                                else vertex[2]--;
-                                if (vertex.length > 3) {
-                                    if (vertex[3] < 0) vertex[3] = model.colors.size() + vertex[3];
-                                    else vertex[3]--;
-                                }
-                            }
-                        }
-                        vertices[i] = vertex;
-                    }
+        void position(float x, float y, float z) throws IOException {
+            if (recorder != null) {
+                recorder.writeByte(POSITION);
+                recorder.writeFloat(x);
+                recorder.writeFloat(y);
+                recorder.writeFloat(z);
+            }
+            model.positions.add(new Vector3f(x, y, z));
+        }
 
-                    currentMesh.faces.add(vertices);
+        void texCoord(float u, float v) throws IOException {
+            if (recorder != null) {
+                recorder.writeByte(TEX_COORD);
+                recorder.writeFloat(u);
+                recorder.writeFloat(v);
+            }
+            model.texCoords.add(new Vec2(u, v));
+        }
 
-                    break;
-                }
+        void normal(float x, float y, float z) throws IOException {
+            if (recorder != null) {
+                recorder.writeByte(NORMAL);
+                recorder.writeFloat(x);
+                recorder.writeFloat(y);
+                recorder.writeFloat(z);
+            }
+            model.normals.add(new Vector3f(x, y, z));
+        }
 
-                case "s": // Smoothing group (starts new mesh)
-                {
-                    String smoothingGroup = "off".equals(line[1]) ? null : line[1];
-                    if (!Objects.equals(currentSmoothingGroup, smoothingGroup)) {
-                        currentSmoothingGroup = smoothingGroup;
-                        if (currentMesh != null && currentMesh.smoothingGroup == null && currentMesh.faces.size() == 0) {
-                            currentMesh.smoothingGroup = currentSmoothingGroup;
-                        } else {
-                            // Start new mesh
-                            currentMesh = null;
-                        }
+        void color(float r, float g, float b, float a) throws IOException {
+            if (recorder != null) {
+                recorder.writeByte(COLOR);
+                recorder.writeFloat(r);
+                recorder.writeFloat(g);
+                recorder.writeFloat(b);
+                recorder.writeFloat(a);
+            }
+            model.colors.add(new Vector4f(r, g, b, a));
+        }
+
+        /**
+         * Adds a face whose vertex references have already been resolved to absolute, zero-based indices.
+         */
+        void face(int[][] vertices) throws IOException {
+            if (recorder != null) {
+                recorder.writeByte(FACE);
+                recorder.writeInt(vertices.length);
+                for (int[] vertex : vertices) {
+                    recorder.writeByte(vertex.length);
+                    for (int index : vertex) {
+                        recorder.writeInt(index);
                     }
-                    break;
                 }
+            }
 
-                case "g": {
-                    String name = line[1];
-                    if (objAboveGroup) {
-                        currentObject = model.new ModelObject(currentGroup.name() + "/" + name);
-                        currentGroup.parts.put(name, currentObject);
-                    } else {
-                        currentGroup = model.new ModelGroup(name);
-                        model.parts.put(name, currentGroup);
-                        currentObject = null;
+            if (currentMesh == null) {
+                currentMesh = model.new ModelMesh(currentMat, currentSmoothingGroup);
+                if (currentObject != null) {
+                    currentObject.meshes.add(currentMesh);
+                } else {
+                    if (currentGroup == null) {
+                        currentGroup = model.new ModelGroup("");
+                        model.parts.put("", currentGroup);
                     }
+                    currentGroup.meshes.add(currentMesh);
+                }
+            }
+
+            currentMesh.faces.add(vertices);
+        }
+
+        void materialLibrary(String lib) throws IOException {
+            if (recorder != null) {
+                recorder.writeByte(MATERIAL_LIBRARY);
+                recorder.writeUTF(lib);
+            }
+
+            if (materialLibraryOverrideLocation != null)
+                return;
+
+            mtllib = loadMaterialLibrary(lib);
+        }
+
+        private ObjMaterialLibrary loadMaterialLibrary(String lib) {
+            if (lib.contains(":"))
+                return ObjLoader.INSTANCE.loadMaterialLibrary(ResourceLocation.parse(lib));
+            else
+                return ObjLoader.INSTANCE.loadMaterialLibrary(ResourceLocation.fromNamespaceAndPath(modelDomain, modelPath + lib));
+        }
+
+        void useMaterial(String mat) throws IOException {
+            if (recorder != null) {
+                recorder.writeByte(USE_MATERIAL);
+                recorder.writeUTF(mat);
+            }
+
+            ObjMaterialLibrary.Material newMat = mtllib.getMaterial(mat);
+            if (!Objects.equals(newMat, currentMat)) {
+                currentMat = newMat;
+                if (currentMesh != null && currentMesh.mat == null && currentMesh.faces.size() == 0) {
+                    currentMesh.mat = currentMat;
+                } else {
                     // Start new mesh
                     currentMesh = null;
-                    break;
                 }
+            }
+        }
 
-                case "o": {
-                    String name = line[1];
-                    if (objAboveGroup || currentGroup == null) {
-                        objAboveGroup = true;
-
-                        currentGroup = model.new ModelGroup(name);
-                        model.parts.put(name, currentGroup);
-                        currentObject = null;
-                    } else {
-                        currentObject = model.new ModelObject(currentGroup.name() + "/" + name);
-                        currentGroup.parts.put(name, currentObject);
-                    }
+        void smoothingGroup(String name) throws IOException {
+            if (recorder != null) {
+                recorder.writeByte(SMOOTHING_GROUP);
+                recorder.writeUTF(name);
+            }
+
+            String smoothingGroup = "off".equals(name) ? null : name;
+            if (!Objects.equals(currentSmoothingGroup, smoothingGroup)) {
+                currentSmoothingGroup = smoothingGroup;
+                if (currentMesh != null && currentMesh.smoothingGroup == null && currentMesh.faces.size() == 0) {
+                    currentMesh.smoothingGroup = currentSmoothingGroup;
+                } else {
                     // Start new mesh
                     currentMesh = null;
-                    break;
                 }
             }
         }
-        return model;
-    }
 
-    private static Vector3f parseVector4To3(String[] line) {
-        Vector4f vec4 = parseVector4(line);
-        return new Vector3f(
-                vec4.x() / vec4.w(),
-                vec4.y() / vec4.w(),
-                vec4.z() / vec4.w());
-    }
+        void group(String name) throws IOException {
+            if (recorder != null) {
+                recorder.writeByte(GROUP);
+                recorder.writeUTF(name);
+            }
 
-    private static Vec2 parseVector2(String[] line) {
-        return switch (line.length) {
-            case 1 -> new Vec2(0, 0);
-            case 2 -> new Vec2(Float.parseFloat(line[1]), 0);
-            default -> new Vec2(Float.parseFloat(line[1]), Float.parseFloat(line[2]));
-        };
-    }
+            if (objAboveGroup) {
+                currentObject = model.new ModelObject(currentGroup.name() + "/" + name);
+                currentGroup.parts.put(name, currentObject);
+            } else {
+                currentGroup = model.new ModelGroup(name);
+                model.parts.put(name, currentGroup);
+                currentObject = null;
+            }
+            // Start new mesh
+            currentMesh = null;
+        }
 
-    private static Vector3f parseVector3(String[] line) {
-        return switch (line.length) {
-            case 1 -> new Vector3f();
-            case 2 -> new Vector3f(Float.parseFloat(line[1]), 0, 0);
-            case 3 -> new Vector3f(Float.parseFloat(line[1]), Float.parseFloat(line[2]), 0);
-            default -> new Vector3f(Float.parseFloat(line[1]), Float.parseFloat(line[2]), Float.parseFloat(line[3]));
-        };
+        void object(String name) throws IOException {
+            if (recorder != null) {
+                recorder.writeByte(OBJECT);
+                recorder.writeUTF(name);
+            }
+
+            if (objAboveGroup || currentGroup == null) {
+                objAboveGroup = true;
+
+                currentGroup = model.new ModelGroup(name);
+                model.parts.put(name, currentGroup);
+                currentObject = null;
+            } else {
+                currentObject = model.new ModelObject(currentGroup.name() + "/" + name);
+                currentGroup.parts.put(name, currentObject);
+            }
+            // Start new mesh
+            currentMesh = null;
+        }
     }
 
     static Vector4f parseVector4(String[] line) {
@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) NeoForged and contributors
+ * SPDX-License-Identifier: LGPL-2.1-only
+ */
+
+package net.neoforged.neoforge.client.model.obj;
+
+import com.google.common.hash.Hashing;
+import com.mojang.logging.LogUtils;
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import net.neoforged.fml.loading.FMLPaths;
+import org.slf4j.Logger;
+
+/**
+ * An on-disk cache of parsed {@link ObjModel OBJ models}, enabled with the {@code cacheObjModels} client config option.
+ * <p>
+ * The parsed statements of each OBJ file are stored in a compact binary form, keyed by the SHA-256 hash of the file.
+ * Loading an unchanged model replays these statements instead of tokenizing the text again.
+ * Material libraries are not cached, and are resolved again when the statements are replayed.
+ */
+final class ObjModelCache {
+    private static final Logger LOGGER = LogUtils.getLogger();
+    private static final int MAGIC = 0x4E4F424A; // NOBJ
+    // Increment whenever the format written by ObjModel.Parser changes
+    private static final int VERSION = 1;
+
+    private ObjModelCache() {}
+
+    static ObjModel load(InputStream stream, ObjModel.ModelSettings settings) throws IOException {
+        byte[] contents = stream.readAllBytes();
+        Path file = getCacheDirectory().resolve(Hashing.sha256().hashBytes(contents) + ".bin");
+
+        if (Files.isRegularFile(file)) {
+            try (var input = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+                if (input.readInt() == MAGIC && input.readInt() == VERSION) {
+                    var parser = new ObjModel.Parser(settings, null);
+                    parser.replay(input);
+                    return parser.model;
+                }
+            } catch (IOException e) {
+                LOGGER.warn("Failed to read cached OBJ model {}, parsing it again", settings.modelLocation(), e);
+            }
+        }
+
+        var buffer = new ByteArrayOutputStream(contents.length);
+        var recorder = new DataOutputStream(buffer);
+        recorder.writeInt(MAGIC);
+        recorder.writeInt(VERSION);
+        ObjModel model;
+        try (ObjTokenizer tokenizer = new ObjTokenizer(new ByteArrayInputStream(contents))) {
+            model = ObjModel.parse(tokenizer, settings, recorder);
+        }
+
+        try {
+            Files.createDirectories(file.getParent());
+            // Write to a temporary file first, so that concurrent loads never see a partially written cache entry
+            Path tempFile = Files.createTempFile(file.getParent(), "obj", ".tmp");
+            Files.write(tempFile, buffer.toByteArray());
+            Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            LOGGER.warn("Failed to cache OBJ model {}", settings.modelLocation(), e);
+        }
+        return model;
+    }
+
+    private static Path getCacheDirectory() {
+        return FMLPaths.GAMEDIR.get().resolve("cache").resolve("neoforge").resolve("obj");
+    }
+}
@@ -6,69 +6,360 @@
 package net.neoforged.neoforge.client.model.obj;
 
 import com.google.common.base.Charsets;
-import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
-import java.util.ArrayList;
+import java.io.Reader;
 import java.util.Arrays;
-import java.util.List;
-import joptsimple.internal.Strings;
+import java.util.Objects;
 import org.jetbrains.annotations.Nullable;
 
 /**
  * A tokenizer for OBJ and MTL files.
  * <p>
  * Joins split lines and ignores comments.
+ * <p>
+ * Lines can either be read as arrays of strings using {@link #readAndSplitLine(boolean)}, or streamed using
+ * {@link #nextLine()} and the token accessors, which parse numbers directly from the read characters without
+ * creating intermediate strings.
  */
 public class ObjTokenizer implements AutoCloseable {
-    private final BufferedReader lineReader;
+    // Powers of ten up to 10^10 are exactly representable as a float
+    private static final float[] POWERS_OF_TEN = new float[11];
+    // Mantissas up to 2^24 are exactly representable as a float
+    private static final long MAX_FAST_MANTISSA = 1 << 24;
+
+    static {
+        POWERS_OF_TEN[0] = 1;
+        for (int i = 1; i < POWERS_OF_TEN.length; i++) {
+            POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10;
+        }
+    }
+
+    private final Reader reader;
+    private final char[] readBuffer = new char[8192];
+    private int readPosition;
+    private int readLimit;
+    private boolean skipLineFeed;
+
+    // The characters of the current logical line, which may span several physical lines
+    private char[] chars = new char[256];
+    private int length;
+    private int[] tokenStarts = new int[16];
+    private int[] tokenEnds = new int[16];
+    private int tokenCount;
 
     public ObjTokenizer(InputStream inputStream) {
-        this.lineReader = new BufferedReader(new InputStreamReader(inputStream, Charsets.UTF_8));
+        this.reader = new InputStreamReader(inputStream, Charsets.UTF_8);
     }
 
     public String @Nullable [] readAndSplitLine(boolean ignoreEmptyLines) throws IOException {
         //noinspection LoopConditionNotUpdatedInsideLoop
         do {
-            String currentLine = lineReader.readLine();
-            if (currentLine == null)
+            if (!readLogicalLine())
                 return null;
 
-            List<String> lineParts = new ArrayList<>();
+            if (tokenCount > 0) {
+                String[] lineParts = new String[tokenCount];
+                for (int i = 0; i < tokenCount; i++) {
+                    lineParts[i] = token(i);
+                }
+                return lineParts;
+            }
+        } while (ignoreEmptyLines);
 
-            if (currentLine.startsWith("#"))
-                currentLine = "";
+        return new String[0];
+    }
+
+    /**
+     * Advances to the next line containing at least one token.
+     *
+     * @return {@code false} if the end of the input has been reached
+     */
+    public boolean nextLine() throws IOException {
+        do {
+            if (!readLogicalLine())
+                return false;
+        } while (tokenCount == 0);
+        return true;
+    }
 
-            if (currentLine.length() > 0) {
+    /**
+     * {@return the number of tokens in the current line}
+     */
+    public int tokenCount() {
+        return tokenCount;
+    }
 
-                boolean hasContinuation;
-                do {
-                    hasContinuation = currentLine.endsWith("\\");
-                    String tmp = hasContinuation ? currentLine.substring(0, currentLine.length() - 1) : currentLine;
+    /**
+     * {@return the token at the given index of the current line}
+     */
+    public String token(int index) {
+        Objects.checkIndex(index, tokenCount);
+        return new String(chars, tokenStarts[index], tokenEnds[index] - tokenStarts[index]);
+    }
 
-                    Arrays.stream(tmp.split("[\t ]+")).filter(s -> !Strings.isNullOrEmpty(s)).forEach(lineParts::add);
+    /**
+     * {@return whether the token at the given index of the current line is equal to the given string}
+     */
+    public boolean tokenEquals(int index, String value) {
+        Objects.checkIndex(index, tokenCount);
+        int start = tokenStarts[index];
+        int tokenLength = tokenEnds[index] - start;
+        if (tokenLength != value.length())
+            return false;
+        for (int i = 0; i < tokenLength; i++) {
+            if (chars[start + i] != value.charAt(i))
+                return false;
+        }
+        return true;
+    }
 
-                    if (hasContinuation) {
-                        currentLine = lineReader.readLine();
-                        if (currentLine == null)
-                            break;
+    /**
+     * {@return the tokens of the current line starting at the given index, joined by a space}
+     */
+    public String joinTokens(int fromIndex) {
+        StringBuilder builder = new StringBuilder();
+        for (int i = fromIndex; i < tokenCount; i++) {
+            if (i > fromIndex)
+                builder.append(' ');
+            builder.append(chars, tokenStarts[i], tokenEnds[i] - tokenStarts[i]);
+        }
+        return builder.toString();
+    }
 
-                        if (currentLine.length() == 0 || currentLine.startsWith("#"))
-                            break;
-                    }
-                } while (hasContinuation);
+    /**
+     * Parses the token at the given index of the current line as a float, with the same syntax as {@link Float#parseFloat(String)}.
+     * <p>
+     * Plain decimal numbers whose mantissa and power of ten are exactly representable as floats are parsed without
+     * creating a string. Since the result is then computed by a single float operation, it is rounded exactly like
+     * {@link Float#parseFloat(String)}. All other numbers are parsed by {@link Float#parseFloat(String)}.
+     */
+    public float floatToken(int index) {
+        Objects.checkIndex(index, tokenCount);
+        int start = tokenStarts[index];
+        int end = tokenEnds[index];
+        int i = start;
+        boolean negative = false;
+        if (chars[i] == '-' || chars[i] == '+') {
+            negative = chars[i] == '-';
+            i++;
+        }
+        long mantissa = 0;
+        int exponent = 0;
+        boolean anyDigits = false;
+        boolean fractional = false;
+        for (; i < end; i++) {
+            char c = chars[i];
+            if (c >= '0' && c <= '9') {
+                anyDigits = true;
+                if (mantissa == 0 && c == '0') {
+                    // Leading zeros are not significant
+                    if (fractional)
+                        exponent--;
+                    continue;
+                }
+                mantissa = mantissa * 10 + (c - '0');
+                if (mantissa > MAX_FAST_MANTISSA)
+                    return parseFloatSlow(start, end);
+                if (fractional)
+                    exponent--;
+            } else if (c == '.' && !fractional) {
+                fractional = true;
+            } else {
+                break;
             }
+        }
+        if (!anyDigits)
+            return parseFloatSlow(start, end);
+        if (i < end) {
+            if (chars[i] != 'e' && chars[i] != 'E' || ++i == end)
+                return parseFloatSlow(start, end);
+            boolean negativeExponent = false;
+            if (chars[i] == '-' || chars[i] == '+') {
+                negativeExponent = chars[i] == '-';
+                if (++i == end)
+                    return parseFloatSlow(start, end);
+            }
+            int explicitExponent = 0;
+            for (; i < end; i++) {
+                char c = chars[i];
+                if (c < '0' || c > '9' || explicitExponent > 1000)
+                    return parseFloatSlow(start, end);
+                explicitExponent = explicitExponent * 10 + (c - '0');
+            }
+            exponent += negativeExponent ? -explicitExponent : explicitExponent;
+        }
+        float value;
+        if (mantissa == 0) {
+            value = 0;
+        } else if (exponent >= 0 && exponent < POWERS_OF_TEN.length) {
+            value = (float) mantissa * POWERS_OF_TEN[exponent];
+        } else if (exponent < 0 && -exponent < POWERS_OF_TEN.length) {
+            value = (float) mantissa / POWERS_OF_TEN[-exponent];
+        } else {
+            return parseFloatSlow(start, end);
+        }
+        return negative ? -value : value;
+    }
 
-            if (lineParts.size() > 0)
-                return lineParts.toArray(new String[0]);
-        } while (ignoreEmptyLines);
+    private float parseFloatSlow(int start, int end) {
+        return Float.parseFloat(new String(chars, start, end - start));
+    }
 
-        return new String[0];
+    /**
+     * Parses the token at the given index of the current line as an integer, with the same syntax as {@link Integer#parseInt(String)}.
+     */
+    public int intToken(int index) {
+        Objects.checkIndex(index, tokenCount);
+        return parseInt(tokenStarts[index], tokenEnds[index]);
+    }
+
+    /**
+     * Parses the slash-separated integers of the token at the given index of the current line, such as the
+     * vertex references of a face. Empty components are parsed as {@code 0} and trailing empty components are ignored.
+     */
+    public int[] slashSeparatedInts(int index) {
+        Objects.checkIndex(index, tokenCount);
+        int start = tokenStarts[index];
+        int end = tokenEnds[index];
+        int components = 1;
+        for (int i = start; i < end; i++) {
+            if (chars[i] == '/')
+                components++;
+        }
+        int[] out = new int[components];
+        int count = 0;
+        int nonEmptyCount = 0;
+        int partStart = start;
+        for (int i = start; i <= end; i++) {
+            if (i == end || chars[i] == '/') {
+                if (i > partStart) {
+                    out[count] = parseInt(partStart, i);
+                    nonEmptyCount = count + 1;
+                } else {
+                    out[count] = 0;
+                }
+                count++;
+                partStart = i + 1;
+            }
+        }
+        return nonEmptyCount == components ? out : Arrays.copyOf(out, nonEmptyCount);
+    }
+
+    private int parseInt(int start, int end) {
+        int i = start;
+        boolean negative = false;
+        if (i < end && (chars[i] == '-' || chars[i] == '+')) {
+            negative = chars[i] == '-';
+            i++;
+        }
+        // Leave overflow handling and error messages to Integer#parseInt
+        if (i == end || end - i > 9)
+            return Integer.parseInt(new String(chars, start, end - start));
+        int value = 0;
+        for (; i < end; i++) {
+            char c = chars[i];
+            if (c < '0' || c > '9')
+                return Integer.parseInt(new String(chars, start, end - start));
+            value = value * 10 + (c - '0');
+        }
+        return negative ? -value : value;
+    }
+
+    /**
+     * Reads the next logical line and splits it into tokens.
+     *
+     * @return {@code false} if the end of the input has been reached
+     */
+    private boolean readLogicalLine() throws IOException {
+        length = 0;
+        tokenCount = 0;
+
+        int lineStart = length;
+        if (!readPhysicalLine())
+            return false;
+
+        if (length > lineStart && chars[lineStart] == '#')
+            length = lineStart;
+
+        if (length > lineStart) {
+            boolean hasContinuation;
+            do {
+                hasContinuation = chars[length - 1] == '\\';
+                tokenize(lineStart, hasContinuation ? length - 1 : length);
+
+                if (hasContinuation) {
+                    lineStart = length;
+                    if (!readPhysicalLine())
+                        break;
+
+                    if (length == lineStart || chars[lineStart] == '#')
+                        break;
+                }
+            } while (hasContinuation);
+        }
+        return true;
+    }
+
+    /**
+     * Appends the next physical line to the current line, without the line terminator.
+     *
+     * @return {@code false} if the end of the input has been reached before any character could be read
+     */
+    private boolean readPhysicalLine() throws IOException {
+        boolean readAny = false;
+        while (true) {
+            if (readPosition >= readLimit) {
+                readLimit = reader.read(readBuffer, 0, readBuffer.length);
+                readPosition = 0;
+                if (readLimit <= 0) {
+                    readLimit = 0;
+                    return readAny;
+                }
+            }
+            char c = readBuffer[readPosition++];
+            if (skipLineFeed) {
+                skipLineFeed = false;
+                if (c == '\n')
+                    continue;
+            }
+            readAny = true;
+            if (c == '\n')
+                return true;
+            if (c == '\r') {
+                skipLineFeed = true;
+                return true;
+            }
+            if (length == chars.length)
+                chars = Arrays.copyOf(chars, chars.length * 2);
+            chars[length++] = c;
+        }
+    }
+
+    private void tokenize(int start, int end) {
+        int tokenStart = -1;
+        for (int i = start; i <= end; i++) {
+            boolean separator = i == end || chars[i] == ' ' || chars[i] == '\t';
+            if (separator) {
+                if (tokenStart >= 0) {
+                    if (tokenCount == tokenStarts.length) {
+                        tokenStarts = Arrays.copyOf(tokenStarts, tokenCount * 2);
+                        tokenEnds = Arrays.copyOf(tokenEnds, tokenCount * 2);
+                    }
+                    tokenStarts[tokenCount] = tokenStart;
+                    tokenEnds[tokenCount] = i;
+                    tokenCount++;
+                    tokenStart = -1;
+                }
+            } else if (tokenStart < 0) {
+                tokenStart = i;
+            }
+        }
     }
 
     @Override
     public void close() throws IOException {
-        lineReader.close();
+        reader.close();
     }
 }
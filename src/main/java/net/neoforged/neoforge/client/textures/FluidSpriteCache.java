@@ -6,6 +6,7 @@
 package net.neoforged.neoforge.client.textures;
 
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.renderer.block.LiquidBlockRenderer;
 import net.minecraft.client.renderer.texture.MissingTextureAtlasSprite;
@@ -14,6 +15,7 @@ import net.minecraft.client.renderer.texture.TextureAtlasSprite;
 import net.minecraft.core.BlockPos;
 import net.minecraft.resources.ResourceLocation;
 import net.minecraft.world.level.BlockAndTintGetter;
+import net.minecraft.world.level.material.Fluid;
 import net.minecraft.world.level.material.FluidState;
 import net.neoforged.neoforge.client.extensions.common.IClientFluidTypeExtensions;
 import org.jetbrains.annotations.ApiStatus;
@@ -25,13 +27,47 @@ import org.jetbrains.annotations.ApiStatus;
 public final class FluidSpriteCache {
     private static Map<ResourceLocation, TextureAtlasSprite> textureLookup = Map.of();
     private static TextureAtlasSprite missingSprite = null;
+    /**
+     * Marker stored for fluid states whose textures depend on the position
+     */
+    private static final TextureAtlasSprite[] POSITION_DEPENDENT = new TextureAtlasSprite[0];
+    /**
+     * The sprites of each fluid state, indexed by the id of the state in {@link Fluid#FLUID_STATE_REGISTRY}.
+     * Entries are computed on first use by the render workers and cleared when the atlas is reloaded.
+     */
+    private static AtomicReferenceArray<TextureAtlasSprite[]> spritesByState = new AtomicReferenceArray<>(0);
 
     /**
      * {@return an array holding the still sprite, the flowing sprite and the overlay sprite (if specified,
      * otherwise null) of the given fluid at the given position}
+     * <p>
+     * The returned array is shared and must not be modified.
+     * Unless the textures of the fluid {@linkplain IClientFluidTypeExtensions#hasPositionDependentTextures() depend on the position},
+     * the sprites are only resolved once per fluid state until the next resource reload.
      */
     public static TextureAtlasSprite[] getFluidSprites(BlockAndTintGetter level, BlockPos pos, FluidState fluid) {
-        IClientFluidTypeExtensions props = IClientFluidTypeExtensions.of(fluid);
+        AtomicReferenceArray<TextureAtlasSprite[]> cache = spritesByState;
+        int id = Fluid.FLUID_STATE_REGISTRY.getId(fluid);
+        if (id < 0 || id >= cache.length()) {
+            return resolveFluidSprites(level, pos, fluid, IClientFluidTypeExtensions.of(fluid));
+        }
+        TextureAtlasSprite[] sprites = cache.get(id);
+        if (sprites == null) {
+            IClientFluidTypeExtensions props = IClientFluidTypeExtensions.of(fluid);
+            if (props.hasPositionDependentTextures()) {
+                cache.set(id, POSITION_DEPENDENT);
+                return resolveFluidSprites(level, pos, fluid, props);
+            }
+            // Racing workers resolve the same sprites, so it does not matter which of them ends up in the cache
+            sprites = resolveFluidSprites(level, pos, fluid, props);
+            cache.set(id, sprites);
+        } else if (sprites == POSITION_DEPENDENT) {
+            return resolveFluidSprites(level, pos, fluid, IClientFluidTypeExtensions.of(fluid));
+        }
+        return sprites;
+    }
+
+    private static TextureAtlasSprite[] resolveFluidSprites(BlockAndTintGetter level, BlockPos pos, FluidState fluid, IClientFluidTypeExtensions props) {
         ResourceLocation overlay = props.getOverlayTexture(fluid, level, pos);
         Map<ResourceLocation, TextureAtlasSprite> textures = textureLookup;
 
@@ -55,6 +91,25 @@ public final class FluidSpriteCache {
         TextureAtlas atlas = Minecraft.getInstance().getModelManager().getAtlas(TextureAtlas.LOCATION_BLOCKS);
         textureLookup = atlas.getTextures();
         missingSprite = textureLookup.get(MissingTextureAtlasSprite.getLocation());
+        spritesByState = new AtomicReferenceArray<>(Fluid.FLUID_STATE_REGISTRY.size());
+    }
+
+    /**
+     * {@return whether the given extensions override any of the texture getters that receive the position of the fluid}
+     */
+    @ApiStatus.Internal
+    public static boolean overridesPositionAwareGetters(IClientFluidTypeExtensions props) {
+        try {
+            Class<?> clazz = props.getClass();
+            for (String name : new String[] { "getStillTexture", "getFlowingTexture", "getOverlayTexture" }) {
+                if (clazz.getMethod(name, FluidState.class, BlockAndTintGetter.class, BlockPos.class).getDeclaringClass() != IClientFluidTypeExtensions.class) {
+                    return true;
+                }
+            }
+            return false;
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException(e);
+        }
     }
 
     private FluidSpriteCache() {}
@@ -120,6 +120,7 @@ import net.minecraft.world.item.enchantment.Enchantment;
 import net.minecraft.world.item.enchantment.EnchantmentInstance;
 import net.minecraft.world.item.enchantment.ItemEnchantments;
 import net.minecraft.world.item.equipment.Equippable;
+import net.minecraft.world.level.BlockGetter;
 import net.minecraft.world.level.ChunkPos;
 import net.minecraft.world.level.GameType;
 import net.minecraft.world.level.Level;
@@ -619,9 +620,7 @@ public class CommonHooks {
             // save new item data
             int newSize = itemstack.getCount();
             DataComponentMap newComponents = itemstack.getComponents();
-            @SuppressWarnings("unchecked")
-            List<BlockSnapshot> blockSnapshots = (List<BlockSnapshot>) level.capturedBlockSnapshots.clone();
-            level.capturedBlockSnapshots.clear();
+            List<BlockSnapshot> blockSnapshots = level.capturedBlockSnapshots.drain();
 
             // make sure to set pre-placement item data for event
             itemstack.setCount(size);
@@ -650,6 +649,7 @@ public class CommonHooks {
                 itemstack.setCount(newSize);
                 itemstack.applyComponents(newComponents);
 
+                // Each position is only captured once, so it is notified once, with the flags of its first change
                 for (BlockSnapshot snap : blockSnapshots) {
                     int updateFlag = snap.getFlags();
                     BlockState oldBlock = snap.getState();
@@ -1479,6 +1479,26 @@ public class CommonHooks {
         }
     }
 
+    private static final ClassValue<Boolean> OVERRIDES_LIGHT_EMISSION = new ClassValue<>() {
+        @Override
+        protected Boolean computeValue(Class<?> clazz) {
+            try {
+                Method method = clazz.getMethod("getLightEmission", BlockState.class, BlockGetter.class, BlockPos.class);
+                return method.getDeclaringClass() != IBlockExtension.class;
+            } catch (ReflectiveOperationException exception) {
+                throw new RuntimeException("Failed to check for block light emission override", exception);
+            }
+        }
+    };
+
+    /**
+     * {@return whether the class of the given block overrides {@link IBlockExtension#getLightEmission(BlockState, BlockGetter, BlockPos)}}
+     */
+    @ApiStatus.Internal
+    public static boolean overridesLightEmission(Block block) {
+        return OVERRIDES_LIGHT_EMISSION.get(block.getClass());
+    }
+
     /**
      * The goal here is to fix the POI memory leak that happens due to
      * {@link net.minecraft.world.level.chunk.storage.SectionStorage#storage} field never
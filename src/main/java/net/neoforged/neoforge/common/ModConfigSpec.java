@@ -43,6 +43,7 @@ import net.neoforged.fml.Logging;
 import net.neoforged.fml.config.IConfigSpec;
 import net.neoforged.fml.config.ModConfig;
 import net.neoforged.fml.loading.FMLEnvironment;
+import net.neoforged.neoforge.network.ConfigSync;
 import org.apache.commons.lang3.tuple.Pair;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -160,6 +161,8 @@ public class ModConfigSpec implements IConfigSpec {
     public void afterReload() {
         // Only clear the caches of configs that don't need a restart
         this.resetCaches(RestartType.NONE);
+        // The contents synced to clients may have changed
+        ConfigSync.invalidateCache();
     }
 
     @ApiStatus.Internal
@@ -99,6 +99,8 @@ public class NeoForgeConfig {
 
         public final BooleanValue logUntranslatedConfigurationWarnings;
 
+        public final BooleanValue cacheObjModels;
+
         Client(ModConfigSpec.Builder builder) {
             experimentalForgeLightPipelineEnabled = builder
                     .comment("EXPERIMENTAL: Enable the NeoForge block rendering pipeline - fixes the lighting of custom models.")
@@ -114,6 +116,11 @@ public class NeoForgeConfig {
                     .comment("A config option mainly for developers. Logs out configuration values that do not have translations when running a client in a development environment.")
                     .translation("neoforge.configgui.logUntranslatedConfigurationWarnings")
                     .define("logUntranslatedConfigurationWarnings", true);
+
+            cacheObjModels = builder
+                    .comment("Cache parsed OBJ models on disk, so that unchanged models do not need to be parsed again on every resource reload and startup.")
+                    .translation("neoforge.configgui.cacheObjModels")
+                    .define("cacheObjModels", false);
         }
     }
 
@@ -12,22 +12,80 @@ import com.mojang.serialization.Decoder;
 import com.mojang.serialization.DynamicOps;
 import com.mojang.serialization.Encoder;
 import com.mojang.serialization.MapCodec;
+import com.mojang.serialization.MapLike;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
 import net.minecraft.resources.RegistryOps;
 import net.minecraft.util.ExtraCodecs;
 import net.neoforged.neoforge.common.util.NeoForgeExtraCodecs;
+import org.jetbrains.annotations.Nullable;
 
 /**
  * Extension of {@link RegistryOps} that also encapsulates a {@link ICondition.IContext}.
  * This allows getting the {@link ICondition.IContext} while decoding an entry from within a codec.
+ * <p>
+ * Ops created with {@link #withConditionCache()} remember the conditions they decoded and their results,
+ * so that conditions shared by many entries are only decoded and tested once.
  */
 public class ConditionalOps<T> extends RegistryOps<T> {
     private final ICondition.IContext context;
+    @Nullable
+    private final ConditionCache<T> cache;
 
     public ConditionalOps(RegistryOps<T> ops, ICondition.IContext context) {
+        this(ops, context, null);
+    }
+
+    private ConditionalOps(RegistryOps<T> ops, ICondition.IContext context, @Nullable ConditionCache<T> cache) {
         super(ops);
         this.context = context;
+        this.cache = cache;
+    }
+
+    /**
+     * {@return a copy of these ops that memoizes decoded conditions and their results}
+     * <p>
+     * Condition results may change between reloads, such as when tags or loaded data packs change,
+     * so loaders must create new ops with a new cache for each reload.
+     */
+    public ConditionalOps<T> withConditionCache() {
+        return new ConditionalOps<>(this, context, new ConditionCache<>());
+    }
+
+    /**
+     * Decodes a list of conditions, reusing the result of a previous decode of an equal input if these ops have a cache.
+     */
+    private DataResult<List<ICondition>> decodeConditions(Codec<List<ICondition>> codec, T input) {
+        if (cache == null || codec != ICondition.LIST_CODEC) {
+            return codec.parse(this, input);
+        }
+        List<ICondition> cached = cache.decodedConditions.get(input);
+        if (cached != null) {
+            return DataResult.success(cached);
+        }
+        DataResult<List<ICondition>> result = codec.parse(this, input);
+        // Partial results are not cached, so that their errors are reported for every entry
+        result.result().filter(conditions -> result.error().isEmpty()).ifPresent(conditions -> cache.decodedConditions.put(input, conditions));
+        return result;
+    }
+
+    /**
+     * Tests a condition against the context of these ops, reusing the result of a previous test of an equal condition if these ops have a cache.
+     */
+    private boolean test(ICondition condition) {
+        if (cache == null) {
+            return condition.test(context);
+        }
+        Boolean cached = cache.conditionResults.get(condition);
+        if (cached == null) {
+            // Not using computeIfAbsent, so that conditions are not tested while holding a lock of the map
+            cached = condition.test(context);
+            cache.conditionResults.put(condition, cached);
+        }
+        return cached;
     }
 
     /**
@@ -197,38 +255,51 @@ public class ConditionalOps<T> extends RegistryOps<T> {
                     return innerCodec.decode(ops, input).map(result -> result.mapFirst(carrier -> Optional.of(new WithConditions<>(carrier))));
                 }
 
-                return conditionsCodec.decode(ops, conditionsDataCarrier).flatMap(conditionsCarrier -> {
-                    final List<ICondition> conditions = conditionsCarrier.getFirst();
-                    final DataResult<Pair<ICondition.IContext, T>> contextDataResult = contextCodec.decode(ops, ops.emptyMap());
-
-                    return contextDataResult.flatMap(contextCarrier -> {
-                        final ICondition.IContext context = contextCarrier.getFirst();
-
-                        final boolean conditionsMatch = conditions.stream().allMatch(c -> c.test(context));
-                        if (!conditionsMatch)
-                            return DataResult.success(Pair.of(Optional.empty(), input));
-
-                        DataResult<Pair<A, T>> innerDecodeResult;
-
-                        T valueDataCarrier = inputMap.get(CONDITIONAL_VALUE_KEY);
-                        if (valueDataCarrier != null) {
-                            // If there is a value field use its contents to deserialize.
-                            innerDecodeResult = innerCodec.decode(ops, valueDataCarrier);
-                        } else {
-                            // Else copy the input into a new map without our custom key and decode from that.
-                            T conditionalsKey = ops.createString(conditionalsPropertyKey);
-                            var mapForDecoding = ops.createMap(inputMap
-                                    .entries()
-                                    .filter(pair -> !pair.getFirst().equals(conditionalsKey)));
-                            innerDecodeResult = innerCodec.decode(ops, mapForDecoding);
-                        }
-
-                        // Variable is required because type inference can't handle this
-                        DataResult<Pair<Optional<WithConditions<A>>, T>> ret = innerDecodeResult.map(
-                                result -> result.mapFirst(
-                                        carrier -> Optional.of(new WithConditions<>(conditions, carrier))));
-                        return ret;
-                    });
+                final DataResult<List<ICondition>> conditionsResult;
+                if (ops instanceof ConditionalOps<T> conditionalOps) {
+                    conditionsResult = conditionalOps.decodeConditions(conditionsCodec, conditionsDataCarrier);
+                } else {
+                    conditionsResult = conditionsCodec.parse(ops, conditionsDataCarrier);
+                }
+
+                return conditionsResult.flatMap(conditions -> {
+                    final boolean conditionsMatch;
+                    if (ops instanceof ConditionalOps<T> conditionalOps) {
+                        // Skip the context codec, and use the condition results cached by the ops
+                        conditionsMatch = conditions.stream().allMatch(conditionalOps::test);
+                    } else {
+                        final DataResult<ICondition.IContext> contextResult = contextCodec.parse(ops, ops.emptyMap());
+                        if (contextResult.isError())
+                            return contextResult.map(context -> Pair.of(Optional.<WithConditions<A>>empty(), input));
+                        final ICondition.IContext context = contextResult.getOrThrow();
+                        conditionsMatch = conditions.stream().allMatch(c -> c.test(context));
+                    }
+                    if (!conditionsMatch)
+                        return DataResult.success(Pair.of(Optional.empty(), input));
+
+                    DataResult<Pair<A, T>> innerDecodeResult;
+
+                    T valueDataCarrier = inputMap.get(CONDITIONAL_VALUE_KEY);
+                    if (valueDataCarrier != null) {
+                        // If there is a value field use its contents to deserialize.
+                        innerDecodeResult = innerCodec.decode(ops, valueDataCarrier);
+                    } else if (innerCodec instanceof MapCodec.MapCodecCodec<A> mapCodecCodec) {
+                        // If the inner codec decodes maps, decode from a view of the input without our custom key.
+                        innerDecodeResult = mapCodecCodec.codec().decode(ops, new WithoutKey<>(inputMap, ops.createString(conditionalsPropertyKey), conditionalsPropertyKey)).map(result -> Pair.of(result, input));
+                    } else {
+                        // Else copy the input into a new map without our custom key and decode from that.
+                        T conditionalsKey = ops.createString(conditionalsPropertyKey);
+                        var mapForDecoding = ops.createMap(inputMap
+                                .entries()
+                                .filter(pair -> !pair.getFirst().equals(conditionalsKey)));
+                        innerDecodeResult = innerCodec.decode(ops, mapForDecoding);
+                    }
+
+                    // Variable is required because type inference can't handle this
+                    DataResult<Pair<Optional<WithConditions<A>>, T>> ret = innerDecodeResult.map(
+                            result -> result.mapFirst(
+                                    carrier -> Optional.of(new WithConditions<>(conditions, carrier))));
+                    return ret;
                 });
             }).result().orElseGet(() -> {
                 // Not a map, forward to inner codec
@@ -236,4 +307,37 @@ public class ConditionalOps<T> extends RegistryOps<T> {
             });
         }
     }
+
+    /**
+     * View of a map that hides one of its keys, used to decode the entries of a conditional object without copying them.
+     */
+    private record WithoutKey<T>(MapLike<T> map, T hiddenKey, String hiddenKeyName) implements MapLike<T> {
+        @Override
+        public T get(T key) {
+            return key.equals(hiddenKey) ? null : map.get(key);
+        }
+
+        @Override
+        public T get(String key) {
+            return key.equals(hiddenKeyName) ? null : map.get(key);
+        }
+
+        @Override
+        public Stream<Pair<T, T>> entries() {
+            return map.entries().filter(pair -> !pair.getFirst().equals(hiddenKey));
+        }
+
+        @Override
+        public String toString() {
+            return "WithoutKey[" + hiddenKeyName + "]" + map;
+        }
+    }
+
+    /**
+     * The decoded conditions and condition results of ops created by {@link #withConditionCache()}.
+     */
+    private static final class ConditionCache<T> {
+        private final Map<T, List<ICondition>> decodedConditions = new ConcurrentHashMap<>();
+        private final Map<ICondition, Boolean> conditionResults = new ConcurrentHashMap<>();
+    }
 }
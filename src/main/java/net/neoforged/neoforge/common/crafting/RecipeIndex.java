@@ -0,0 +1,223 @@
+/*
+ * Copyright (c) NeoForged and contributors
+ * SPDX-License-Identifier: LGPL-2.1-only
+ */
+
+package net.neoforged.neoforge.common.crafting;
+
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntIterator;
+import it.unimi.dsi.fastutil.objects.Reference2ObjectMap;
+import it.unimi.dsi.fastutil.objects.Reference2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ReferenceOpenHashSet;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import net.minecraft.core.Holder;
+import net.minecraft.world.item.Item;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.crafting.Ingredient;
+import net.minecraft.world.item.crafting.PlacementInfo;
+import net.minecraft.world.item.crafting.Recipe;
+import net.minecraft.world.item.crafting.RecipeHolder;
+import net.minecraft.world.item.crafting.RecipeInput;
+import net.minecraft.world.item.crafting.RecipeManager;
+import net.minecraft.world.item.crafting.RecipeMap;
+import net.minecraft.world.item.crafting.RecipeType;
+import net.minecraft.world.level.Level;
+import org.jetbrains.annotations.ApiStatus;
+
+/**
+ * Index of the recipes of one {@link RecipeType} by the items their ingredients accept,
+ * used by {@link RecipeManager#getIndexedRecipeFor} to only test the recipes sharing an item with the input.
+ * <p>
+ * Recipes are indexed by the items of the ingredients of their {@link Recipe#placementInfo() placement info}.
+ * Recipes that cannot be placed, or that have a {@linkplain Ingredient#isCustom() custom ingredient},
+ * are tested for every input, since their ingredients may accept items they do not list.
+ * Candidates are tested in the same order as {@link RecipeMap#getRecipesFor}, so both lookups find the same first recipe,
+ * as long as every recipe that matches an input accepts one of its items in its placement info.
+ */
+public final class RecipeIndex<I extends RecipeInput, T extends Recipe<I>> {
+    private static final int[] NO_CANDIDATES = new int[0];
+
+    private final List<RecipeHolder<T>> recipes;
+    // Sorted indices into the recipes, for each item and for the recipes tested for every input
+    private final Reference2ObjectMap<Item, int[]> candidatesByItem;
+    private final int[] fallback;
+
+    private RecipeIndex(List<RecipeHolder<T>> recipes, Reference2ObjectMap<Item, int[]> candidatesByItem, int[] fallback) {
+        this.recipes = recipes;
+        this.candidatesByItem = candidatesByItem;
+        this.fallback = fallback;
+    }
+
+    public static <I extends RecipeInput, T extends Recipe<I>> RecipeIndex<I, T> build(Collection<RecipeHolder<T>> recipes) {
+        List<RecipeHolder<T>> list = List.copyOf(recipes);
+        Reference2ObjectMap<Item, IntArrayList> candidates = new Reference2ObjectOpenHashMap<>();
+        IntArrayList fallback = new IntArrayList();
+        Set<Item> items = new ReferenceOpenHashSet<>();
+        for (int i = 0; i < list.size(); i++) {
+            if (!collectItems(list.get(i).value(), items)) {
+                fallback.add(i);
+            } else {
+                for (Item item : items) {
+                    candidates.computeIfAbsent(item, k -> new IntArrayList()).add(i);
+                }
+            }
+            items.clear();
+        }
+        Reference2ObjectMap<Item, int[]> candidatesByItem = new Reference2ObjectOpenHashMap<>(candidates.size());
+        candidates.forEach((item, indices) -> candidatesByItem.put(item, indices.toIntArray()));
+        return new RecipeIndex<>(list, candidatesByItem, fallback.isEmpty() ? NO_CANDIDATES : fallback.toIntArray());
+    }
+
+    /**
+     * Adds the items accepted by the ingredients of the recipe to the given set.
+     *
+     * @return {@code false} if the recipe must be tested for every input instead
+     */
+    private static boolean collectItems(Recipe<?> recipe, Set<Item> items) {
+        PlacementInfo placementInfo = recipe.placementInfo();
+        if (placementInfo.isImpossibleToPlace() || placementInfo.ingredients().isEmpty()) {
+            return false;
+        }
+        for (Ingredient ingredient : placementInfo.ingredients()) {
+            if (ingredient.isCustom()) {
+                return false;
+            }
+            ingredient.items().map(Holder::value).forEach(items::add);
+        }
+        return true;
+    }
+
+    /**
+     * {@return the first recipe matching the input, in the order of the recipe map}
+     */
+    public Optional<RecipeHolder<T>> getRecipeFor(I input, Level level) {
+        if (input.isEmpty()) {
+            return Optional.empty();
+        }
+        for (IntIterator it = candidates(input); it.hasNext();) {
+            RecipeHolder<T> recipe = recipes.get(it.nextInt());
+            if (recipe.value().matches(input, level)) {
+                return Optional.of(recipe);
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * {@return the recipes matching the input, in the order of the recipe map}
+     */
+    public Stream<RecipeHolder<T>> getRecipesFor(I input, Level level) {
+        if (input.isEmpty()) {
+            return Stream.empty();
+        }
+        return StreamSupport.intStream(Spliterators.spliteratorUnknownSize(candidates(input), Spliterator.ORDERED | Spliterator.DISTINCT), false)
+                .mapToObj(recipes::get)
+                .filter(recipe -> recipe.value().matches(input, level));
+    }
+
+    private IntIterator candidates(I input) {
+        List<int[]> lists = new ArrayList<>(4);
+        if (fallback.length > 0) {
+            lists.add(fallback);
+        }
+        Set<Item> seen = new ReferenceOpenHashSet<>(4);
+        for (int slot = 0; slot < input.size(); slot++) {
+            ItemStack stack = input.getItem(slot);
+            if (!stack.isEmpty() && seen.add(stack.getItem())) {
+                int[] candidates = candidatesByItem.get(stack.getItem());
+                if (candidates != null) {
+                    lists.add(candidates);
+                }
+            }
+        }
+        return new MergingIterator(lists.toArray(int[][]::new));
+    }
+
+    /**
+     * Iterates the union of sorted index lists in ascending order, without duplicates.
+     * The number of lists is bounded by the number of distinct items in the input, so the smallest head is found by a linear scan.
+     */
+    private static final class MergingIterator implements IntIterator {
+        private final int[][] lists;
+        private final int[] positions;
+        private int next = -1;
+
+        private MergingIterator(int[][] lists) {
+            this.lists = lists;
+            this.positions = new int[lists.length];
+            advance();
+        }
+
+        private void advance() {
+            int min = Integer.MAX_VALUE;
+            for (int i = 0; i < lists.length; i++) {
+                if (positions[i] < lists[i].length) {
+                    min = Math.min(min, lists[i][positions[i]]);
+                }
+            }
+            if (min == Integer.MAX_VALUE) {
+                next = -1;
+                return;
+            }
+            for (int i = 0; i < lists.length; i++) {
+                if (positions[i] < lists[i].length && lists[i][positions[i]] == min) {
+                    positions[i]++;
+                }
+            }
+            next = min;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != -1;
+        }
+
+        @Override
+        public int nextInt() {
+            if (next == -1) {
+                throw new NoSuchElementException();
+            }
+            int result = next;
+            advance();
+            return result;
+        }
+    }
+
+    /**
+     * The indexes of the recipe types of one {@link RecipeMap}, built on first use.
+     * Indexes are built lazily rather than when recipes are loaded, since item tags are only bound after the reload.
+     */
+    @ApiStatus.Internal
+    public static final class Cache {
+        private volatile Snapshot snapshot = new Snapshot(RecipeMap.EMPTY);
+
+        @SuppressWarnings("unchecked")
+        public <I extends RecipeInput, T extends Recipe<I>> RecipeIndex<I, T> get(RecipeMap recipes, RecipeType<T> type) {
+            Snapshot current = snapshot;
+            if (current.recipes != recipes) {
+                // The recipes were reloaded, discard the indexes of the previous recipes
+                current = new Snapshot(recipes);
+                snapshot = current;
+            }
+            return (RecipeIndex<I, T>) current.indexes.computeIfAbsent(type, t -> RecipeIndex.<I, T>build(recipes.byType(type)));
+        }
+
+        private record Snapshot(RecipeMap recipes, Map<RecipeType<?>, RecipeIndex<?, ?>> indexes) {
+            private Snapshot(RecipeMap recipes) {
+                this(recipes, new ConcurrentHashMap<>());
+            }
+        }
+    }
+}
@@ -78,6 +78,7 @@ import net.neoforged.fml.loading.FMLEnvironment;
 import net.neoforged.neoforge.capabilities.BlockCapabilityCache;
 import net.neoforged.neoforge.client.ClientHooks;
 import net.neoforged.neoforge.client.model.data.ModelData;
+import net.neoforged.neoforge.common.CommonHooks;
 import net.neoforged.neoforge.common.DataMapHooks;
 import net.neoforged.neoforge.common.ItemAbilities;
 import net.neoforged.neoforge.common.ItemAbility;
@@ -155,6 +156,22 @@ public interface IBlockExtension {
         return state.getLightEmission();
     }
 
+    /**
+     * Whether the given state of this block always emits its {@linkplain BlockState#getLightEmission() cached light emission},
+     * so that {@link #getLightEmission(BlockState, BlockGetter, BlockPos)} does not have to be called during light propagation.
+     * <p>
+     * This is determined once per state when the block registry is baked. By default, a state has static light emission
+     * if it does not have {@linkplain #hasDynamicLightEmission(BlockState) dynamic light emission} and this block does not
+     * override {@link #getLightEmission(BlockState, BlockGetter, BlockPos)}.
+     * Blocks overriding that method only for some of their states can return {@code true} for the other states.
+     *
+     * @param state the block state being checked
+     * @return true if the light emission of the given state is always its cached light emission, false otherwise
+     */
+    default boolean hasStaticLightEmission(BlockState state) {
+        return !hasDynamicLightEmission(state) && !CommonHooks.overridesLightEmission(self());
+    }
+
     /**
      * Checks if a player or entity can use this block to 'climb' like a ladder.
      *
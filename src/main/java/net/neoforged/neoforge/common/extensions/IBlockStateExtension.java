@@ -87,6 +87,10 @@ public interface IBlockStateExtension {
      * Get a light value for this block, taking into account the given state and coordinates, normal ranges are between 0 and 15
      */
     default int getLightEmission(BlockGetter level, BlockPos pos) {
+        // Most states always emit their cached light emission, which avoids calling into the block for every light update
+        if (self().hasStaticLightEmission()) {
+            return self().getLightEmission();
+        }
         return self().getBlock().getLightEmission(self(), level, pos);
     }
 
@@ -236,6 +236,18 @@ public interface IEntityExtension extends INBTSerializable<CompoundTag> {
         return isInFluidType(predicate, false);
     }
 
+    /**
+     * Returns whether any fluid type the entity is currently in matches
+     * the specified condition, without boxing the heights.
+     *
+     * @param predicate a test taking in the fluid type and its height
+     * @return {@code true} if a fluid type meets the condition, {@code false}
+     *         otherwise
+     */
+    default boolean isInFluidType(FluidTypeHeightPredicate predicate) {
+        return isInFluidType(predicate, false);
+    }
+
     /**
      * Returns whether the fluid type the entity is currently in matches
      * the specified condition.
@@ -246,7 +258,22 @@ public interface IEntityExtension extends INBTSerializable<CompoundTag> {
      * @return {@code true} if a fluid type meets the condition, {@code false}
      *         otherwise
      */
-    boolean isInFluidType(BiPredicate<FluidType, Double> predicate, boolean forAllTypes);
+    default boolean isInFluidType(BiPredicate<FluidType, Double> predicate, boolean forAllTypes) {
+        FluidTypeHeightPredicate primitive = predicate instanceof FluidTypeHeightPredicate p ? p : predicate::test;
+        return isInFluidType(primitive, forAllTypes);
+    }
+
+    /**
+     * Returns whether the fluid type the entity is currently in matches
+     * the specified condition, without boxing the heights.
+     *
+     * @param predicate   a test taking in the fluid type and its height
+     * @param forAllTypes {@code true} if all fluid types should match the
+     *                    condition instead of at least one
+     * @return {@code true} if a fluid type meets the condition, {@code false}
+     *         otherwise
+     */
+    boolean isInFluidType(FluidTypeHeightPredicate predicate, boolean forAllTypes);
 
     /**
      * Returns whether the entity is in a fluid.
@@ -396,4 +423,18 @@ public interface IEntityExtension extends INBTSerializable<CompoundTag> {
     default void copyAttachmentsFrom(Entity other, boolean isDeath) {
         AttachmentInternals.copyEntityAttachments(other, self(), isDeath);
     }
+
+    /**
+     * A test on a fluid type and its height on an entity, taking the height as a primitive.
+     * Lambdas passed to {@code isInFluidType} resolve to the overloads taking this interface, which avoids boxing the heights.
+     */
+    @FunctionalInterface
+    interface FluidTypeHeightPredicate extends BiPredicate<FluidType, Double> {
+        boolean test(FluidType type, double height);
+
+        @Override
+        default boolean test(FluidType type, Double height) {
+            return test(type, height.doubleValue());
+        }
+    }
 }
@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) NeoForged and contributors
+ * SPDX-License-Identifier: LGPL-2.1-only
+ */
+
+package net.neoforged.neoforge.common.util;
+
+import it.unimi.dsi.fastutil.longs.Long2IntOpenHashMap;
+import java.util.ArrayList;
+import java.util.List;
+import net.minecraft.core.BlockPos;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.block.state.BlockState;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * The block snapshots captured by a {@link Level} while {@link Level#captureBlockSnapshots} is set, in the order they were captured.
+ * <p>
+ * Only the first snapshot of each position is kept, as it records the state before any of the captured changes.
+ * Snapshots are indexed by their packed position, so that capturing and removing them takes constant time
+ * regardless of the number of captured blocks.
+ */
+public final class CapturedBlockSnapshots {
+    private final Long2IntOpenHashMap indexByPos = new Long2IntOpenHashMap();
+    // Removed snapshots are replaced by null, and skipped when draining
+    private List<BlockSnapshot> snapshots = new ArrayList<>();
+    private int removed;
+
+    public CapturedBlockSnapshots() {
+        indexByPos.defaultReturnValue(-1);
+    }
+
+    /**
+     * Captures a snapshot of the given position, unless a snapshot of the position was already captured.
+     *
+     * @param flags the {@link Level#setBlock(BlockPos, BlockState, int)} flags that the block is about to be changed with
+     * @return the new snapshot, or {@code null} if a snapshot of the position was already captured
+     */
+    @Nullable
+    public BlockSnapshot capture(Level level, BlockPos pos, int flags) {
+        if (indexByPos.containsKey(pos.asLong())) {
+            return null;
+        }
+        BlockSnapshot snapshot = BlockSnapshot.create(level.dimension(), level, pos, flags);
+        add(snapshot);
+        return snapshot;
+    }
+
+    /**
+     * Adds a snapshot, unless a snapshot was already captured at the same position.
+     *
+     * @return {@code true} if the snapshot was added
+     */
+    public boolean add(BlockSnapshot snapshot) {
+        long pos = snapshot.getPos().asLong();
+        if (indexByPos.putIfAbsent(pos, snapshots.size()) != -1) {
+            return false;
+        }
+        snapshots.add(snapshot);
+        return true;
+    }
+
+    /**
+     * Removes the given snapshot, if it is the snapshot captured at its position.
+     *
+     * @return {@code true} if the snapshot was removed
+     */
+    public boolean remove(BlockSnapshot snapshot) {
+        long pos = snapshot.getPos().asLong();
+        int index = indexByPos.get(pos);
+        if (index == -1 || snapshots.get(index) != snapshot) {
+            return false;
+        }
+        indexByPos.remove(pos);
+        if (index == snapshots.size() - 1) {
+            // Usually the snapshot that was just added, if setting the block failed
+            snapshots.remove(index);
+        } else {
+            snapshots.set(index, null);
+            removed++;
+        }
+        return true;
+    }
+
+    /**
+     * {@return the number of captured snapshots}
+     */
+    public int size() {
+        return snapshots.size() - removed;
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * Removes all captured snapshots and returns them in the order they were captured.
+     * The returned list is no longer used by this object, and can be freely modified.
+     */
+    public List<BlockSnapshot> drain() {
+        List<BlockSnapshot> drained = snapshots;
+        if (removed > 0) {
+            drained.removeIf(snapshot -> snapshot == null);
+        }
+        snapshots = new ArrayList<>();
+        indexByPos.clear();
+        removed = 0;
+        return drained;
+    }
+
+    public void clear() {
+        snapshots.clear();
+        indexByPos.clear();
+        removed = 0;
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) NeoForged and contributors
+ * SPDX-License-Identifier: LGPL-2.1-only
+ */
+
+package net.neoforged.neoforge.common.world;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import net.minecraft.core.Holder;
+import net.minecraft.util.random.WeightedRandomList;
+import net.minecraft.world.entity.MobCategory;
+import net.minecraft.world.level.LevelAccessor;
+import net.minecraft.world.level.biome.Biome;
+import net.minecraft.world.level.biome.MobSpawnSettings;
+import net.minecraft.world.level.chunk.ChunkGenerator;
+import net.neoforged.bus.api.SubscribeEvent;
+import net.neoforged.fml.common.EventBusSubscriber;
+import net.neoforged.neoforge.common.NeoForge;
+import net.neoforged.neoforge.event.TagsUpdatedEvent;
+import net.neoforged.neoforge.event.level.LevelEvent;
+import net.neoforged.neoforge.event.server.ServerStoppedEvent;
+import net.neoforged.neoforge.internal.versions.neoforge.NeoForgeVersion;
+import org.jetbrains.annotations.ApiStatus;
+
+/**
+ * Caches the spawn lists resulting from {@link LevelEvent.CachedPotentialSpawns} per level, biome, mob category and original spawn list.
+ * <p>
+ * The original spawn list is either the spawn list of the biome or the spawn overrides of a structure,
+ * so that structures are part of the cache key without having to look them up again.
+ * Original spawn lists are compared by identity, so {@link ChunkGenerator#getMobsAt} should return the same list instance
+ * for the same biome and structure. Lists created on each call are still handled correctly, but miss the cache;
+ * the number of cached lists per level is bounded so that they do not accumulate.
+ * <p>
+ * Listeners to {@link LevelEvent.CachedPotentialSpawns} whose modifications change must call {@link #invalidate(LevelAccessor)}
+ * or {@link #invalidateAll()}. The cache is invalidated automatically when datapacks are reloaded.
+ */
+@EventBusSubscriber(modid = NeoForgeVersion.MOD_ID)
+public final class PotentialSpawnsCache {
+    /**
+     * The maximum number of cached spawn lists per level. When exceeded, the cached spawn lists of the level are discarded.
+     */
+    private static final int MAX_ENTRIES_PER_LEVEL = 1024;
+    private static final WeightedRandomList<MobSpawnSettings.SpawnerData> NO_SPAWNS = WeightedRandomList.create();
+    private static final Map<LevelAccessor, Map<Key, WeightedRandomList<MobSpawnSettings.SpawnerData>>> CACHE = new ConcurrentHashMap<>();
+
+    private PotentialSpawnsCache() {}
+
+    /**
+     * {@return the spawn list resulting from firing {@link LevelEvent.CachedPotentialSpawns}, reusing the cached result if present}
+     */
+    @ApiStatus.Internal
+    public static WeightedRandomList<MobSpawnSettings.SpawnerData> get(LevelAccessor level, MobCategory category, Holder<Biome> biome, WeightedRandomList<MobSpawnSettings.SpawnerData> oldList) {
+        Map<Key, WeightedRandomList<MobSpawnSettings.SpawnerData>> results = CACHE.computeIfAbsent(level, l -> new ConcurrentHashMap<>());
+        Key key = new Key(category, biome, oldList);
+        WeightedRandomList<MobSpawnSettings.SpawnerData> cached = results.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        // The event is not fired inside computeIfAbsent, as listeners may invalidate the cache
+        WeightedRandomList<MobSpawnSettings.SpawnerData> result = compute(level, category, biome, oldList);
+        if (results.size() >= MAX_ENTRIES_PER_LEVEL) {
+            results.clear();
+        }
+        WeightedRandomList<MobSpawnSettings.SpawnerData> previous = results.putIfAbsent(key, result);
+        return previous != null ? previous : result;
+    }
+
+    private static WeightedRandomList<MobSpawnSettings.SpawnerData> compute(LevelAccessor level, MobCategory category, Holder<Biome> biome, WeightedRandomList<MobSpawnSettings.SpawnerData> oldList) {
+        var event = new LevelEvent.CachedPotentialSpawns(level, category, biome, oldList);
+        if (NeoForge.EVENT_BUS.post(event).isCanceled())
+            return NO_SPAWNS;
+        else if (event.getSpawnerDataList() == oldList.unwrap())
+            return oldList;
+        return WeightedRandomList.create(event.getSpawnerDataList());
+    }
+
+    /**
+     * Discards the cached spawn lists of the given level, so that {@link LevelEvent.CachedPotentialSpawns} is fired again
+     * on the next spawn attempts.
+     */
+    public static void invalidate(LevelAccessor level) {
+        CACHE.remove(level);
+    }
+
+    /**
+     * Discards the cached spawn lists of all levels, so that {@link LevelEvent.CachedPotentialSpawns} is fired again
+     * on the next spawn attempts.
+     */
+    public static void invalidateAll() {
+        CACHE.clear();
+    }
+
+    @SubscribeEvent
+    public static void onTagsUpdated(TagsUpdatedEvent event) {
+        if (event.getUpdateCause() == TagsUpdatedEvent.UpdateCause.SERVER_DATA_LOAD) {
+            invalidateAll();
+        }
+    }
+
+    @SubscribeEvent
+    public static void onLevelUnload(LevelEvent.Unload event) {
+        invalidate(event.getLevel());
+    }
+
+    @SubscribeEvent
+    public static void onServerStopped(ServerStoppedEvent event) {
+        invalidateAll();
+    }
+
+    /**
+     * Spawn lists are compared by identity, as {@link WeightedRandomList} does not override {@link Object#equals(Object)}.
+     */
+    private record Key(MobCategory category, Holder<Biome> biome, WeightedRandomList<MobSpawnSettings.SpawnerData> spawns) {}
+}
@@ -5,15 +5,18 @@
 
 package net.neoforged.neoforge.common.world.chunk;
 
+import it.unimi.dsi.fastutil.longs.Long2IntOpenHashMap;
 import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
 import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
 import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
 import it.unimi.dsi.fastutil.longs.LongSet;
+import it.unimi.dsi.fastutil.longs.LongSets;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
 import java.util.function.BiConsumer;
 import java.util.function.Function;
@@ -33,6 +36,7 @@ import net.neoforged.fml.ModLoader;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
 
 @ParametersAreNonnullByDefault
 public class ForcedChunkManager {
@@ -42,6 +46,8 @@ public class ForcedChunkManager {
     static final TicketType<TicketOwner<UUID>> ENTITY = TicketType.create("neoforge:entity", Comparator.comparing(info -> info));
     static final TicketType<TicketOwner<UUID>> ENTITY_TICKING = TicketType.create("neoforge:entity_ticking", Comparator.comparing(info -> info));
 
+    private static final SavedData.Factory<ForcedChunksSavedData> SAVED_DATA_FACTORY = ForcedChunksSavedData.factory();
+
     private static boolean initialised = false;
     private static Map<ResourceLocation, TicketController> controllers = Map.of();
 
@@ -66,11 +72,26 @@ public class ForcedChunkManager {
      * Checks if a level has any forced chunks. Mainly used for seeing if a level should continue ticking with no players in it.
      */
     public static boolean hasForcedChunks(ServerLevel level) {
-        ForcedChunksSavedData data = level.getDataStorage().get(new SavedData.Factory<>(ForcedChunksSavedData::new, ForcedChunksSavedData::load), "chunks");
+        ForcedChunksSavedData data = getSavedData(level);
         if (data == null) return false;
         return !data.getChunks().isEmpty() || !data.getBlockForcedChunks().isEmpty() || !data.getEntityForcedChunks().isEmpty();
     }
 
+    /**
+     * {@return the forced chunk data of the level, or {@code null} if no chunk was ever forced in it}
+     */
+    @Nullable
+    public static ForcedChunksSavedData getSavedData(ServerLevel level) {
+        return level.getDataStorage().get(SAVED_DATA_FACTORY, "chunks");
+    }
+
+    /**
+     * {@return the IDs of all registered ticket controllers}
+     */
+    public static Set<ResourceLocation> getControllerIds() {
+        return controllers.keySet();
+    }
+
     /**
      * Forces a chunk to be loaded for the given mod with the given "owner".
      *
@@ -84,7 +105,7 @@ public class ForcedChunkManager {
             throw new IllegalArgumentException("Controller with ID " + id + " is not registered!");
         }
 
-        ForcedChunksSavedData saveData = level.getDataStorage().computeIfAbsent(ForcedChunksSavedData.factory(), "chunks");
+        ForcedChunksSavedData saveData = level.getDataStorage().computeIfAbsent(SAVED_DATA_FACTORY, "chunks");
         ChunkPos pos = new ChunkPos(chunkX, chunkZ);
         long chunk = pos.toLong();
         TicketTracker<T> tickets = ticketGetter.apply(saveData);
@@ -104,6 +125,41 @@ public class ForcedChunkManager {
         return success;
     }
 
+    /**
+     * Forces all chunks in the rectangular area between {@code from} and {@code to} (inclusive) to be loaded for the given mod with the given "owner".
+     * <p>
+     * Unlike {@link #forceChunk(ServerLevel, ResourceLocation, Comparable, int, int, boolean, boolean, TicketType, Function)}, this does not load the
+     * chunks synchronously. The tickets are added in one batch and the chunks are loaded asynchronously by the chunk system.
+     *
+     * @param add {@code true} to force the chunks, {@code false} to unforce the chunks.
+     * @return the number of chunks whose forced state changed
+     */
+    static <T extends Comparable<? super T>> int forceChunks(ServerLevel level, ResourceLocation id, T owner, ChunkPos from, ChunkPos to, boolean add, boolean ticking,
+            TicketType<TicketOwner<T>> type, Function<ForcedChunksSavedData, TicketTracker<T>> ticketGetter) {
+        if (!controllers.containsKey(id)) {
+            throw new IllegalArgumentException("Controller with ID " + id + " is not registered!");
+        }
+
+        ForcedChunksSavedData saveData = level.getDataStorage().computeIfAbsent(SAVED_DATA_FACTORY, "chunks");
+        TicketTracker<T> tickets = ticketGetter.apply(saveData);
+        TicketOwner<T> ticketOwner = new TicketOwner<>(id, owner);
+        int changed = 0;
+        for (int x = Math.min(from.x, to.x); x <= Math.max(from.x, to.x); x++) {
+            for (int z = Math.min(from.z, to.z); z <= Math.max(from.z, to.z); z++) {
+                ChunkPos pos = new ChunkPos(x, z);
+                boolean success = add ? tickets.add(ticketOwner, pos.toLong(), ticking) : tickets.remove(ticketOwner, pos.toLong(), ticking);
+                if (success) {
+                    forceChunk(level, pos, type, ticketOwner, add, ticking);
+                    changed++;
+                }
+            }
+        }
+        if (changed > 0) {
+            saveData.setDirty(true);
+        }
+        return changed;
+    }
+
     /**
      * Adds/Removes a ticket from the level's chunk provider with the proper levels to match the forced chunks.
      *
@@ -253,10 +309,10 @@ public class ForcedChunkManager {
                 for (int j = 0; j < modForced.size(); j++) {
                     CompoundTag modEntry = modForced.getCompound(j);
                     long chunkPos = modEntry.getLong("Chunk");
-                    readBlockForcedChunks(controllerId, chunkPos, modEntry, "Blocks", blockForcedChunks.chunks);
-                    readBlockForcedChunks(controllerId, chunkPos, modEntry, "TickingBlocks", blockForcedChunks.tickingChunks);
-                    readEntityForcedChunks(controllerId, chunkPos, modEntry, "Entities", entityForcedChunks.chunks);
-                    readEntityForcedChunks(controllerId, chunkPos, modEntry, "TickingEntities", entityForcedChunks.tickingChunks);
+                    readBlockForcedChunks(controllerId, chunkPos, modEntry, "Blocks", blockForcedChunks, false);
+                    readBlockForcedChunks(controllerId, chunkPos, modEntry, "TickingBlocks", blockForcedChunks, true);
+                    readEntityForcedChunks(controllerId, chunkPos, modEntry, "Entities", entityForcedChunks, false);
+                    readEntityForcedChunks(controllerId, chunkPos, modEntry, "TickingEntities", entityForcedChunks, true);
                 }
             } else {
                 LOGGER.warn("Found chunk loading data for controller id {} which is currently not available or active - it will be removed from the level save.", controllerId);
@@ -267,10 +323,10 @@ public class ForcedChunkManager {
     /**
      * Reads the forge block forced chunks.
      */
-    private static void readBlockForcedChunks(ResourceLocation controllerId, long chunkPos, CompoundTag modEntry, String key, Map<TicketOwner<BlockPos>, LongSet> blockForcedChunks) {
+    private static void readBlockForcedChunks(ResourceLocation controllerId, long chunkPos, CompoundTag modEntry, String key, TicketTracker<BlockPos> blockForcedChunks, boolean ticking) {
         ListTag forcedBlocks = modEntry.getList(key, Tag.TAG_COMPOUND);
         for (int k = 0; k < forcedBlocks.size(); k++) {
-            blockForcedChunks.computeIfAbsent(new TicketOwner<>(controllerId, readBlockPos(forcedBlocks.getCompound(k))), owner -> new LongOpenHashSet()).add(chunkPos);
+            blockForcedChunks.add(new TicketOwner<>(controllerId, readBlockPos(forcedBlocks.getCompound(k))), chunkPos, ticking);
         }
     }
 
@@ -289,10 +345,10 @@ public class ForcedChunkManager {
     /**
      * Reads the forge entity forced chunks.
      */
-    private static void readEntityForcedChunks(ResourceLocation controllerId, long chunkPos, CompoundTag modEntry, String key, Map<TicketOwner<UUID>, LongSet> entityForcedChunks) {
+    private static void readEntityForcedChunks(ResourceLocation controllerId, long chunkPos, CompoundTag modEntry, String key, TicketTracker<UUID> entityForcedChunks, boolean ticking) {
         ListTag forcedEntities = modEntry.getList(key, Tag.TAG_INT_ARRAY);
         for (Tag uuid : forcedEntities) {
-            entityForcedChunks.computeIfAbsent(new TicketOwner<>(controllerId, NbtUtils.loadUUID(uuid)), owner -> new LongOpenHashSet()).add(chunkPos);
+            entityForcedChunks.add(new TicketOwner<>(controllerId, NbtUtils.loadUUID(uuid)), chunkPos, ticking);
         }
     }
 
@@ -334,6 +390,10 @@ public class ForcedChunkManager {
     public static class TicketTracker<T extends Comparable<? super T>> {
         final Map<TicketOwner<T>, LongSet> chunks = new HashMap<>();
         final Map<TicketOwner<T>, LongSet> tickingChunks = new HashMap<>();
+        /**
+         * Index of how many tickets each controller holds on each chunk, across both ticking and non-ticking tickets.
+         */
+        private final Map<ResourceLocation, Long2IntOpenHashMap> ticketsByController = new HashMap<>();
 
         /**
          * Gets an unmodifiable view of the tracked chunks.
@@ -358,10 +418,53 @@ public class ForcedChunkManager {
             return chunks.isEmpty() && tickingChunks.isEmpty();
         }
 
+        /**
+         * {@return the IDs of the controllers that have tickets in this tracker}
+         */
+        public Set<ResourceLocation> getControllers() {
+            return Collections.unmodifiableSet(ticketsByController.keySet());
+        }
+
+        /**
+         * {@return an unmodifiable view of the chunks that the given controller forces through this tracker}
+         */
+        public LongSet getForcedChunks(ResourceLocation controllerId) {
+            Long2IntOpenHashMap tickets = ticketsByController.get(controllerId);
+            return tickets == null ? LongSets.emptySet() : LongSets.unmodifiable(tickets.keySet());
+        }
+
+        /**
+         * {@return the number of tickets that the given controller holds in this tracker}
+         */
+        public int getTicketCount(ResourceLocation controllerId) {
+            Long2IntOpenHashMap tickets = ticketsByController.get(controllerId);
+            if (tickets == null) {
+                return 0;
+            }
+            int count = 0;
+            for (int ticketCount : tickets.values()) {
+                count += ticketCount;
+            }
+            return count;
+        }
+
         private Map<TicketOwner<T>, LongSet> getTickets(boolean ticking) {
             return ticking ? tickingChunks : chunks;
         }
 
+        private void addToIndex(ResourceLocation controllerId, long chunk) {
+            ticketsByController.computeIfAbsent(controllerId, id -> new Long2IntOpenHashMap()).addTo(chunk, 1);
+        }
+
+        private void removeFromIndex(ResourceLocation controllerId, long chunk) {
+            Long2IntOpenHashMap tickets = ticketsByController.get(controllerId);
+            if (tickets != null && tickets.addTo(chunk, -1) <= 1) {
+                tickets.remove(chunk);
+                if (tickets.isEmpty())
+                    ticketsByController.remove(controllerId);
+            }
+        }
+
         /**
          * @return {@code true} if the state changed.
          */
@@ -372,6 +475,7 @@ public class ForcedChunkManager {
                 if (ticketChunks.remove(chunk)) {
                     if (ticketChunks.isEmpty())
                         tickets.remove(owner);
+                    removeFromIndex(owner.id, chunk);
                     return true;
                 }
             }
@@ -382,7 +486,30 @@ public class ForcedChunkManager {
          * @return {@code true} if the state changed.
          */
         private boolean add(TicketOwner<T> owner, long chunk, boolean ticking) {
-            return getTickets(ticking).computeIfAbsent(owner, o -> new LongOpenHashSet()).add(chunk);
+            if (getTickets(ticking).computeIfAbsent(owner, o -> new LongOpenHashSet()).add(chunk)) {
+                addToIndex(owner.id, chunk);
+                return true;
+            }
+            return false;
+        }
+
+        /**
+         * Removes all tickets of the given owner, both ticking and not ticking.
+         *
+         * @return {@code true} if the state changed.
+         */
+        boolean removeAll(TicketOwner<T> owner) {
+            LongSet removed = chunks.remove(owner);
+            LongSet removedTicking = tickingChunks.remove(owner);
+            if (removed != null) {
+                for (long chunk : removed)
+                    removeFromIndex(owner.id, chunk);
+            }
+            if (removedTicking != null) {
+                for (long chunk : removedTicking)
+                    removeFromIndex(owner.id, chunk);
+            }
+            return removed != null || removedTicking != null;
         }
     }
 }
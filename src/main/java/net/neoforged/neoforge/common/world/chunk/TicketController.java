@@ -12,6 +12,7 @@ import net.minecraft.core.BlockPos;
 import net.minecraft.resources.ResourceLocation;
 import net.minecraft.server.level.ServerLevel;
 import net.minecraft.world.entity.Entity;
+import net.minecraft.world.level.ChunkPos;
 import net.minecraft.world.level.ForcedChunksSavedData;
 import org.jetbrains.annotations.Nullable;
 
@@ -67,4 +68,46 @@ public record TicketController(ResourceLocation id, @Nullable LoadingValidationC
     public boolean forceChunk(ServerLevel level, UUID owner, int chunkX, int chunkZ, boolean add, boolean ticking) {
         return ForcedChunkManager.forceChunk(level, id(), owner, chunkX, chunkZ, add, ticking, ticking ? ForcedChunkManager.ENTITY_TICKING : ForcedChunkManager.ENTITY, ForcedChunksSavedData::getEntityForcedChunks);
     }
+
+    /**
+     * Forces all chunks in the rectangular area between two chunk positions (inclusive) to be loaded, with the "owner" of the tickets being a given block position.
+     * <p>
+     * The tickets are added in one batch and the chunks are loaded asynchronously, unlike
+     * {@link #forceChunk(ServerLevel, BlockPos, int, int, boolean, boolean)} which loads the chunk immediately.
+     *
+     * @param add     {@code true} to force the chunks, {@code false} to unforce the chunks.
+     * @param ticking {@code true} to make the chunks receive full chunk ticks even if there is no player nearby.
+     * @return the number of chunks whose forced state changed
+     */
+    public int forceChunks(ServerLevel level, BlockPos owner, ChunkPos from, ChunkPos to, boolean add, boolean ticking) {
+        return ForcedChunkManager.forceChunks(level, id, owner, from, to, add, ticking, ticking ? ForcedChunkManager.BLOCK_TICKING : ForcedChunkManager.BLOCK, ForcedChunksSavedData::getBlockForcedChunks);
+    }
+
+    /**
+     * Forces all chunks in the rectangular area between two chunk positions (inclusive) to be loaded, with the "owner" of the tickets being the UUID of the given entity.
+     * <p>
+     * The tickets are added in one batch and the chunks are loaded asynchronously, unlike
+     * {@link #forceChunk(ServerLevel, Entity, int, int, boolean, boolean)} which loads the chunk immediately.
+     *
+     * @param add     {@code true} to force the chunks, {@code false} to unforce the chunks.
+     * @param ticking {@code true} to make the chunks receive full chunk ticks even if there is no player nearby.
+     * @return the number of chunks whose forced state changed
+     */
+    public int forceChunks(ServerLevel level, Entity owner, ChunkPos from, ChunkPos to, boolean add, boolean ticking) {
+        return forceChunks(level, owner.getUUID(), from, to, add, ticking);
+    }
+
+    /**
+     * Forces all chunks in the rectangular area between two chunk positions (inclusive) to be loaded, with the "owner" of the tickets being a given UUID.
+     * <p>
+     * The tickets are added in one batch and the chunks are loaded asynchronously, unlike
+     * {@link #forceChunk(ServerLevel, UUID, int, int, boolean, boolean)} which loads the chunk immediately.
+     *
+     * @param add     {@code true} to force the chunks, {@code false} to unforce the chunks.
+     * @param ticking {@code true} to make the chunks receive full chunk ticks even if there is no player nearby.
+     * @return the number of chunks whose forced state changed
+     */
+    public int forceChunks(ServerLevel level, UUID owner, ChunkPos from, ChunkPos to, boolean add, boolean ticking) {
+        return ForcedChunkManager.forceChunks(level, id, owner, from, to, add, ticking, ticking ? ForcedChunkManager.ENTITY_TICKING : ForcedChunkManager.ENTITY, ForcedChunksSavedData::getEntityForcedChunks);
+    }
 }
@@ -68,11 +68,8 @@ public class TicketHelper {
      */
     private <T extends Comparable<? super T>> void removeAllTickets(ForcedChunkManager.TicketTracker<T> tickets, T owner) {
         ForcedChunkManager.TicketOwner<T> ticketOwner = new ForcedChunkManager.TicketOwner<>(controllerId, owner);
-        if (tickets.chunks.containsKey(ticketOwner) || tickets.tickingChunks.containsKey(ticketOwner)) {
-            tickets.chunks.remove(ticketOwner);
-            tickets.tickingChunks.remove(ticketOwner);
+        if (tickets.removeAll(ticketOwner))
             saveData.setDirty(true);
-        }
     }
 
     /**
@@ -6,22 +6,36 @@
 package net.neoforged.neoforge.data.event;
 
 import com.google.common.collect.Lists;
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.gson.JsonElement;
+import com.mojang.serialization.DynamicOps;
+import com.mojang.serialization.JsonOps;
 import java.io.File;
 import java.io.IOException;
 import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Comparator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import net.minecraft.DetectedVersion;
 import net.minecraft.client.resources.ClientPackSource;
 import net.minecraft.client.resources.IndexedAssetSource;
@@ -31,6 +45,8 @@ import net.minecraft.data.DataProvider;
 import net.minecraft.data.PackOutput;
 import net.minecraft.data.tags.TagsProvider;
 import net.minecraft.network.chat.Component;
+import net.minecraft.resources.RegistryDataLoader;
+import net.minecraft.resources.RegistryOps;
 import net.minecraft.server.packs.PackLocationInfo;
 import net.minecraft.server.packs.PackResources;
 import net.minecraft.server.packs.PackType;
@@ -46,6 +62,8 @@ import net.neoforged.fml.ModContainer;
 import net.neoforged.fml.ModList;
 import net.neoforged.fml.event.IModBusEvent;
 import net.neoforged.fml.loading.FMLEnvironment;
+import net.neoforged.neoforge.data.loading.DataGeneratorRunner;
+import net.neoforged.neoforge.registries.DataPackRegistriesHooks;
 import net.neoforged.neoforge.resource.ResourcePackLoader;
 import org.jetbrains.annotations.Nullable;
 
@@ -108,6 +126,10 @@ public abstract class GatherDataEvent extends Event implements IModBusEvent {
     }
 
     public static class DataGeneratorConfig {
+        private static final boolean PARALLEL = Boolean.getBoolean("neoforge.datagen.parallel");
+        private static final int THREADS = Math.max(1, Integer.getInteger("neoforge.datagen.threads", Runtime.getRuntime().availableProcessors()));
+        private static final boolean INCREMENTAL = Boolean.getBoolean("neoforge.datagen.incremental");
+
         private final Set<String> mods;
         private final Path path;
         private final Collection<Path> inputs;
@@ -119,6 +141,7 @@ public abstract class GatherDataEvent extends Event implements IModBusEvent {
         private final List<DataGenerator> generators = new ArrayList<>();
         private final ResourceManager clientResourceManager;
         private final ResourceManager serverResourceManager;
+        private final Collection<Path> existingPacks;
 
         public DataGeneratorConfig(final Set<String> mods, final Path path, final Collection<Path> inputs, final CompletableFuture<HolderLookup.Provider> lookupProvider,
                 final boolean dev, final boolean reports, final boolean validate, final boolean flat, final DataGenerator vanillaGenerator, final @Nullable String assetIndex, final @Nullable File assetsDir, Collection<Path> existingPacks) {
@@ -130,6 +153,7 @@ public abstract class GatherDataEvent extends Event implements IModBusEvent {
             this.reports = reports;
             this.validate = validate;
             this.flat = flat;
+            this.existingPacks = existingPacks;
 
             clientResourceManager = createResourceManager(PackType.CLIENT_RESOURCES, mods::contains, existingPacks, consumer -> {
                 if (FMLEnvironment.dist.isClient() && assetIndex != null && assetsDir != null)
@@ -162,19 +186,119 @@ public abstract class GatherDataEvent extends Event implements IModBusEvent {
             return generator;
         }
 
+        /**
+         * Runs all generators, merging the generators that share an output folder.
+         * <p>
+         * When the {@code neoforge.datagen.parallel} system property is set, generators writing to different output folders
+         * are run concurrently on up to {@code neoforge.datagen.threads} threads.
+         * Providers may share static state, so they are run one after the other by default.
+         * <p>
+         * When the {@code neoforge.datagen.incremental} system property is set, providers that completed during a previous run
+         * are skipped if the registry contents, existing packs, loaded mods and files of the generating mods did not change since then.
+         */
         public void runAll() {
             Map<Path, List<DataGenerator>> paths = generators.stream().collect(Collectors.groupingBy(gen -> gen.getPackOutput().getOutputFolder(), LinkedHashMap::new, Collectors.toList()));
 
+            // Merging is not thread-safe, so all generators are merged before any of them is run
+            List<DataGenerator> parents = new ArrayList<>(paths.size());
             paths.values().forEach(lst -> {
                 DataGenerator parent = lst.get(0);
                 for (int x = 1; x < lst.size(); x++)
                     parent.merge(lst.get(x));
+                parents.add(parent);
+            });
+
+            DataGeneratorRunner runner = new DataGeneratorRunner(INCREMENTAL ? computeInputFingerprint() : null);
+            int threads = Math.min(THREADS, parents.size());
+            if (!PARALLEL || threads <= 1) {
+                parents.forEach(parent -> runGenerator(parent, runner));
+            } else {
+                ExecutorService executor = Executors.newFixedThreadPool(threads, new ThreadFactoryBuilder().setNameFormat("Datagen-Worker-%d").setDaemon(true).build());
                 try {
-                    parent.run();
+                    CompletableFuture.allOf(parents.stream()
+                            .map(parent -> CompletableFuture.runAsync(() -> runGenerator(parent, runner), executor))
+                            .toArray(CompletableFuture[]::new)).join();
+                } catch (CompletionException ex) {
+                    if (ex.getCause() instanceof RuntimeException runtimeException)
+                        throw runtimeException;
+                    throw ex;
+                } finally {
+                    executor.shutdown();
+                }
+            }
+            runner.printReport();
+        }
+
+        private static void runGenerator(DataGenerator generator, DataGeneratorRunner runner) {
+            try {
+                generator.run(runner);
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        }
+
+        private HashCode computeInputFingerprint() {
+            Hasher hasher = Hashing.sha256().newHasher();
+            HolderLookup.Provider lookup = lookupProvider.join();
+            lookup.listRegistries()
+                    .sorted(Comparator.comparing(registry -> registry.key().location()))
+                    .forEach(registry -> {
+                        hasher.putString(registry.key().location().toString(), StandardCharsets.UTF_8);
+                        registry.listElementIds()
+                                .map(key -> key.location().toString())
+                                .sorted()
+                                .forEach(id -> hasher.putString(id, StandardCharsets.UTF_8));
+                    });
+            // The values of static registries are defined by code, which is covered by the mod files below
+            DynamicOps<JsonElement> ops = RegistryOps.create(JsonOps.INSTANCE, lookup);
+            DataPackRegistriesHooks.getDataPackRegistriesWithDimensions()
+                    .sorted(Comparator.comparing(data -> data.key().location()))
+                    .forEach(data -> hashRegistryValues(hasher, lookup, ops, data));
+            for (Path pack : existingPacks) {
+                try (Stream<Path> files = Files.walk(pack)) {
+                    for (Path file : files.filter(Files::isRegularFile).sorted().toList()) {
+                        hasher.putString(pack.relativize(file).toString(), StandardCharsets.UTF_8);
+                        hasher.putBytes(Files.readAllBytes(file));
+                    }
                 } catch (IOException ex) {
                     throw new UncheckedIOException(ex);
                 }
-            });
+            }
+            for (var mod : ModList.get().getMods()) {
+                hasher.putString(mod.getModId(), StandardCharsets.UTF_8);
+                hasher.putString(mod.getVersion().toString(), StandardCharsets.UTF_8);
+                // The version of a mod does not change while it is being developed, so the code of the generating mods is hashed too
+                if (mods.isEmpty() || mods.contains(mod.getModId())) {
+                    hashModFile(hasher, mod.getOwningFile().getFile().getSecureJar().getRootPath());
+                }
+            }
+            return hasher.hash();
+        }
+
+        private static <T> void hashRegistryValues(Hasher hasher, HolderLookup.Provider lookup, DynamicOps<JsonElement> ops, RegistryDataLoader.RegistryData<T> data) {
+            lookup.lookup(data.key()).ifPresent(registry -> registry.listElements()
+                    .sorted(Comparator.comparing(holder -> holder.key().location()))
+                    .forEach(holder -> {
+                        hasher.putString(holder.key().location().toString(), StandardCharsets.UTF_8);
+                        var encoded = data.elementCodec().encodeStart(ops, holder.value());
+                        hasher.putString(encoded.mapOrElse(JsonElement::toString, error -> error.message()), StandardCharsets.UTF_8);
+                    }));
+        }
+
+        /**
+         * Hashes the paths, sizes and modification times of the files of a mod.
+         * The root of the mod file covers all of its paths, since the classes and resources of a mod can span several directories in development.
+         */
+        private static void hashModFile(Hasher hasher, Path root) {
+            try (Stream<Path> files = Files.walk(root)) {
+                for (Path file : files.filter(Files::isRegularFile).sorted().toList()) {
+                    hasher.putString(root.relativize(file).toString(), StandardCharsets.UTF_8);
+                    hasher.putLong(Files.size(file));
+                    hasher.putLong(Files.getLastModifiedTime(file).toMillis());
+                }
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
         }
 
         private static ResourceManager createResourceManager(PackType packType, Predicate<String> isGeneratedMod, Collection<Path> existingPacks, Consumer<Consumer<PackResources>> consumer) {
@@ -0,0 +1,169 @@
+/*
+ * Copyright (c) NeoForged and contributors
+ * SPDX-License-Identifier: LGPL-2.1-only
+ */
+
+package net.neoforged.neoforge.data.loading;
+
+import com.google.common.base.Stopwatch;
+import com.google.common.hash.HashCode;
+import com.mojang.logging.LogUtils;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import net.minecraft.WorldVersion;
+import net.minecraft.data.DataGenerator;
+import net.minecraft.data.DataProvider;
+import net.minecraft.data.HashCache;
+import net.neoforged.fml.loading.progress.StartupNotificationManager;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+
+/**
+ * Runs the providers of {@link DataGenerator data generators}, replacing {@link DataGenerator#run()} during mod data generation.
+ * <p>
+ * Providers that {@linkplain DataProvider#canRunInParallel() allow it} are started without waiting for the previous providers to finish.
+ * In incremental mode, providers that completed during a previous run with the same input fingerprint are skipped.
+ * The time taken by each provider is collected across all generators run by this runner and can be printed using {@link #printReport()}.
+ */
+@ApiStatus.Internal
+public final class DataGeneratorRunner {
+    private static final Logger LOGGER = LogUtils.getLogger();
+    private static final String INCREMENTAL_STATE_FILE = "neoforge_incremental";
+
+    @Nullable
+    private final HashCode inputFingerprint;
+    private final Queue<ProviderTiming> timings = new ConcurrentLinkedQueue<>();
+
+    /**
+     * @param inputFingerprint the fingerprint of the inputs of all providers, or {@code null} to always run all providers
+     */
+    public DataGeneratorRunner(@Nullable HashCode inputFingerprint) {
+        this.inputFingerprint = inputFingerprint;
+    }
+
+    public void run(Path rootOutputFolder, Map<String, DataProvider> providers, Collection<String> allProviderIds, WorldVersion version, boolean alwaysGenerate) throws IOException {
+        HashCache hashCache = new HashCache(rootOutputFolder, allProviderIds, version);
+        Path stateFile = rootOutputFolder.resolve(".cache").resolve(INCREMENTAL_STATE_FILE);
+        Set<String> upToDate = inputFingerprint != null ? readUpToDateProviders(stateFile, inputFingerprint) : Set.of();
+        Set<String> completed = new HashSet<>();
+        Map<String, CompletableFuture<HashCache.UpdateResult>> pending = new LinkedHashMap<>();
+        Stopwatch stopwatch = Stopwatch.createStarted();
+
+        for (var entry : providers.entrySet()) {
+            String id = entry.getKey();
+            DataProvider provider = entry.getValue();
+            if (!alwaysGenerate && !hashCache.shouldRunInThisVersion(id)) {
+                LOGGER.debug("Generator {} already run for version {}", id, version.getName());
+                continue;
+            }
+            if (upToDate.contains(id)) {
+                // The previous outputs are kept, as the cache of the provider is not replaced
+                LOGGER.info("Skipping provider {} as its inputs did not change", id);
+                timings.add(new ProviderTiming(id, 0, true));
+                completed.add(id);
+                continue;
+            }
+
+            if (!provider.canRunInParallel()) {
+                // Providers that do not allow parallel runs must not overlap with any other provider
+                applyPendingUpdates(hashCache, pending, completed);
+            }
+
+            LOGGER.info("Starting provider: {}", id);
+            StartupNotificationManager.addModMessage("Generating: " + id);
+            Stopwatch providerStopwatch = Stopwatch.createStarted();
+            var update = hashCache.generateUpdate(id, provider::run).whenComplete((result, error) -> {
+                long elapsed = providerStopwatch.elapsed(TimeUnit.MILLISECONDS);
+                timings.add(new ProviderTiming(id, elapsed, false));
+                LOGGER.info("{} finished after {} ms", id, elapsed);
+            });
+            if (provider.canRunInParallel()) {
+                pending.put(id, update);
+            } else {
+                hashCache.applyUpdate(update.join());
+                completed.add(id);
+            }
+        }
+
+        applyPendingUpdates(hashCache, pending, completed);
+
+        LOGGER.info("All providers took: {} ms", stopwatch.elapsed(TimeUnit.MILLISECONDS));
+        hashCache.purgeStaleAndWrite();
+
+        if (inputFingerprint != null) {
+            writeUpToDateProviders(stateFile, inputFingerprint, completed);
+        }
+    }
+
+    /**
+     * Waits for the providers that are running in parallel and applies their updates.
+     * The cache is not thread-safe, so updates of concurrently running providers are applied here.
+     */
+    private static void applyPendingUpdates(HashCache hashCache, Map<String, CompletableFuture<HashCache.UpdateResult>> pending, Set<String> completed) {
+        for (var entry : pending.entrySet()) {
+            hashCache.applyUpdate(entry.getValue().join());
+            completed.add(entry.getKey());
+        }
+        pending.clear();
+    }
+
+    /**
+     * Logs the time taken by each provider, slowest first.
+     */
+    public void printReport() {
+        if (timings.isEmpty()) {
+            return;
+        }
+        List<ProviderTiming> sorted = new ArrayList<>(timings);
+        sorted.sort(Comparator.comparingLong(ProviderTiming::millis).reversed());
+        StringBuilder report = new StringBuilder("Data provider timings:");
+        for (ProviderTiming timing : sorted) {
+            report.append("\n  ").append(String.format("%8d ms  %s", timing.millis(), timing.id()));
+            if (timing.skipped()) {
+                report.append(" (skipped, inputs unchanged)");
+            }
+        }
+        LOGGER.info(report.toString());
+    }
+
+    private static Set<String> readUpToDateProviders(Path stateFile, HashCode inputFingerprint) {
+        if (!Files.isRegularFile(stateFile)) {
+            return Set.of();
+        }
+        try {
+            List<String> lines = Files.readAllLines(stateFile, StandardCharsets.UTF_8);
+            if (lines.isEmpty() || !lines.get(0).equals(inputFingerprint.toString())) {
+                return Set.of();
+            }
+            return Set.copyOf(lines.subList(1, lines.size()));
+        } catch (IOException e) {
+            LOGGER.warn("Failed to read incremental data generation state from {}", stateFile, e);
+            return Set.of();
+        }
+    }
+
+    private static void writeUpToDateProviders(Path stateFile, HashCode inputFingerprint, Set<String> completed) throws IOException {
+        List<String> lines = new ArrayList<>(completed.size() + 1);
+        lines.add(inputFingerprint.toString());
+        completed.stream().sorted().forEach(lines::add);
+        Files.createDirectories(stateFile.getParent());
+        Files.write(stateFile, lines, StandardCharsets.UTF_8);
+    }
+
+    private record ProviderTiming(String id, long millis, boolean skipped) {}
+}
@@ -90,6 +90,7 @@ import net.minecraft.world.level.NaturalSpawner;
 import net.minecraft.world.level.ServerExplosion;
 import net.minecraft.world.level.ServerLevelAccessor;
 import net.minecraft.world.level.SpawnData;
+import net.minecraft.world.level.biome.Biome;
 import net.minecraft.world.level.biome.MobSpawnSettings;
 import net.minecraft.world.level.block.entity.FuelValues;
 import net.minecraft.world.level.block.state.BlockState;
@@ -114,6 +115,7 @@ import net.neoforged.neoforge.common.extensions.IFluidStateExtension;
 import net.neoforged.neoforge.common.extensions.IOwnedSpawner;
 import net.neoforged.neoforge.common.util.BlockSnapshot;
 import net.neoforged.neoforge.common.util.InsertableLinkedOpenCustomHashSet;
+import net.neoforged.neoforge.common.world.PotentialSpawnsCache;
 import net.neoforged.neoforge.event.brewing.PlayerBrewedPotionEvent;
 import net.neoforged.neoforge.event.brewing.PotionBrewEvent;
 import net.neoforged.neoforge.event.enchanting.EnchantmentLevelSetEvent;
@@ -169,6 +171,7 @@ import net.neoforged.neoforge.event.level.BlockGrowFeatureEvent;
 import net.neoforged.neoforge.event.level.ChunkTicketLevelUpdatedEvent;
 import net.neoforged.neoforge.event.level.ChunkWatchEvent;
 import net.neoforged.neoforge.event.level.ExplosionEvent;
+import net.neoforged.neoforge.event.level.ExplosionKnockbackBatchEvent;
 import net.neoforged.neoforge.event.level.ExplosionKnockbackEvent;
 import net.neoforged.neoforge.event.level.LevelEvent;
 import net.neoforged.neoforge.event.level.ModifyCustomSpawnersEvent;
@@ -620,6 +623,27 @@ public class EventHooks {
         return event.getKnockbackVelocity();
     }
 
+    /**
+     * To be called when an explosion has calculated the knockback velocities of all entities caught in the blast
+     * but has not yet added the knockback to any of them.
+     * Fires {@link ExplosionKnockbackBatchEvent}, and then {@link ExplosionKnockbackEvent} for each entity.
+     *
+     * @param event the event containing the affected entities and their knockback velocities, which are updated in place
+     */
+    public static void onExplosionKnockback(ExplosionKnockbackBatchEvent event) {
+        if (event.size() == 0) {
+            return;
+        }
+        NeoForge.EVENT_BUS.post(event);
+        for (int i = 0; i < event.size(); i++) {
+            Vec3 velocity = event.getKnockbackVelocity(i);
+            Vec3 newVelocity = getExplosionKnockback(event.getLevel(), event.getExplosion(), event.getAffectedEntity(i), velocity, event.getAffectedBlocks());
+            if (newVelocity != velocity) {
+                event.setKnockbackVelocity(i, newVelocity);
+            }
+        }
+    }
+
     public static boolean onCreateWorldSpawn(Level level, ServerLevelData settings) {
         return NeoForge.EVENT_BUS.post(new LevelEvent.CreateSpawnPosition(level, settings)).isCanceled();
     }
@@ -1006,6 +1030,17 @@ public class EventHooks {
     private static final WeightedRandomList<MobSpawnSettings.SpawnerData> NO_SPAWNS = WeightedRandomList.create();
 
     public static WeightedRandomList<MobSpawnSettings.SpawnerData> getPotentialSpawns(LevelAccessor level, MobCategory category, BlockPos pos, WeightedRandomList<MobSpawnSettings.SpawnerData> oldList) {
+        return getPotentialSpawns(level, category, pos, level.getBiome(pos), oldList);
+    }
+
+    /**
+     * Fires {@link LevelEvent.CachedPotentialSpawns}, or reuses its cached result, and then {@link LevelEvent.PotentialSpawns}.
+     *
+     * @param biome   the biome at the given position
+     * @param oldList the spawn list of the biome, or of the structure overriding the spawns of the biome
+     */
+    public static WeightedRandomList<MobSpawnSettings.SpawnerData> getPotentialSpawns(LevelAccessor level, MobCategory category, BlockPos pos, Holder<Biome> biome, WeightedRandomList<MobSpawnSettings.SpawnerData> oldList) {
+        oldList = PotentialSpawnsCache.get(level, category, biome, oldList);
         LevelEvent.PotentialSpawns event = new LevelEvent.PotentialSpawns(level, category, pos, oldList);
         if (NeoForge.EVENT_BUS.post(event).isCanceled())
             return NO_SPAWNS;
@@ -94,6 +94,10 @@ public abstract class BlockEvent extends Event {
      * Called when a block is placed.
      *
      * If a Block Place event is cancelled, the block will not be placed.
+     * <p>
+     * When an item places blocks, only the first change of each position is captured, so its {@linkplain #getBlockSnapshot() snapshot}
+     * holds the state before any of the changes, and {@link #getPlacedBlock()} the state after all of them.
+     * An item that changes a single position several times therefore fires this event rather than an {@link EntityMultiPlaceEvent}.
      */
     public static class EntityPlaceEvent extends BlockEvent implements ICancellableEvent {
         private final Entity entity;
@@ -137,6 +141,8 @@ public abstract class BlockEvent extends Event {
      * by {@link #state} and its related methods is the block where
      * the placed block would exist if the placement only affected a single
      * block.
+     * <p>
+     * Each position appears only once in {@link #getReplacedBlockSnapshots()}, with the state before the first change to it.
      */
     public static class EntityMultiPlaceEvent extends EntityPlaceEvent implements ICancellableEvent {
         private final List<BlockSnapshot> blockSnapshots;
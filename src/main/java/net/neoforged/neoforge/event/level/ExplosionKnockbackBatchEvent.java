@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) NeoForged and contributors
+ * SPDX-License-Identifier: LGPL-2.1-only
+ */
+
+package net.neoforged.neoforge.event.level;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import net.minecraft.core.BlockPos;
+import net.minecraft.world.entity.Entity;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.ServerExplosion;
+import net.minecraft.world.phys.Vec3;
+import net.neoforged.bus.api.ICancellableEvent;
+import net.neoforged.neoforge.common.NeoForge;
+import org.jetbrains.annotations.ApiStatus;
+
+/**
+ * ExplosionKnockbackBatchEvent is fired once per explosion after the explosion has calculated the knockback velocities
+ * of all entities caught in the blast, and before any of them is added to the entities.<br>
+ * It is fired before the {@link ExplosionKnockbackEvent} of each entity, which receive the velocities modified by this event.
+ * Listeners that modify the velocities of many entities should prefer this event.<br>
+ * <br>
+ * The affected entities and their knockback velocities are indexed from {@code 0} to {@link #size()}.
+ * Velocities are modified in place using {@link #setKnockbackVelocity(int, double, double, double)}.<br>
+ * <br>
+ * This event is not {@link ICancellableEvent}.<br>
+ * This event does not use {@link HasResult}.<br>
+ * This event is fired on the {@link NeoForge#EVENT_BUS}.<br>
+ */
+public class ExplosionKnockbackBatchEvent extends ExplosionEvent {
+    private final List<BlockPos> blockList;
+    private Entity[] entities;
+    // The x, y and z components of the knockback velocity of each entity
+    private double[] velocities;
+    private int size;
+
+    public ExplosionKnockbackBatchEvent(Level level, ServerExplosion explosion, List<BlockPos> blockList, int expectedSize) {
+        super(level, explosion);
+        this.blockList = blockList;
+        this.entities = new Entity[expectedSize];
+        this.velocities = new double[expectedSize * 3];
+    }
+
+    /**
+     * Adds an entity caught in the blast with its calculated knockback velocity.
+     */
+    @ApiStatus.Internal
+    public void add(Entity entity, Vec3 knockbackVelocity) {
+        if (size == entities.length) {
+            entities = Arrays.copyOf(entities, Math.max(size * 2, 8));
+            velocities = Arrays.copyOf(velocities, entities.length * 3);
+        }
+        entities[size] = entity;
+        velocities[size * 3] = knockbackVelocity.x;
+        velocities[size * 3 + 1] = knockbackVelocity.y;
+        velocities[size * 3 + 2] = knockbackVelocity.z;
+        size++;
+    }
+
+    /** return the list of blocks affected by the explosion. */
+    public List<BlockPos> getAffectedBlocks() {
+        return this.blockList;
+    }
+
+    /** return the number of entities affected by the explosion knockback. */
+    public int size() {
+        return size;
+    }
+
+    /** return the entity at the given index affected by the explosion knockback. */
+    public Entity getAffectedEntity(int index) {
+        Objects.checkIndex(index, size);
+        return entities[index];
+    }
+
+    /** return the explosion knockback velocity to apply to the entity at the given index. */
+    public Vec3 getKnockbackVelocity(int index) {
+        Objects.checkIndex(index, size);
+        return new Vec3(velocities[index * 3], velocities[index * 3 + 1], velocities[index * 3 + 2]);
+    }
+
+    public double getKnockbackX(int index) {
+        Objects.checkIndex(index, size);
+        return velocities[index * 3];
+    }
+
+    public double getKnockbackY(int index) {
+        Objects.checkIndex(index, size);
+        return velocities[index * 3 + 1];
+    }
+
+    public double getKnockbackZ(int index) {
+        Objects.checkIndex(index, size);
+        return velocities[index * 3 + 2];
+    }
+
+    /** Sets the explosion knockback velocity to add to the existing velocity of the entity at the given index. */
+    public void setKnockbackVelocity(int index, double x, double y, double z) {
+        Objects.checkIndex(index, size);
+        velocities[index * 3] = x;
+        velocities[index * 3 + 1] = y;
+        velocities[index * 3 + 2] = z;
+    }
+
+    /** Sets the explosion knockback velocity to add to the existing velocity of the entity at the given index. */
+    public void setKnockbackVelocity(int index, Vec3 knockbackVelocity) {
+        setKnockbackVelocity(index, knockbackVelocity.x, knockbackVelocity.y, knockbackVelocity.z);
+    }
+}
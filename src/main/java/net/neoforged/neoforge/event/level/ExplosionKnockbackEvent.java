@@ -16,6 +16,7 @@ import net.neoforged.neoforge.common.NeoForge;
 
 /**
  * ExplosionKnockbackEvent is fired once the explosion has calculated the knockback velocity to add to the entity caught in blast.<br>
+ * It is fired for each entity after {@link ExplosionKnockbackBatchEvent}, which should be preferred when modifying the knockback of many entities.<br>
  * <br>
  * This event is not {@link ICancellableEvent}.<br>
  * This event does not use {@link HasResult}.<br>
@@ -12,18 +12,21 @@ import net.minecraft.client.Minecraft;
 import net.minecraft.client.gui.screens.Screen;
 import net.minecraft.client.multiplayer.ClientLevel;
 import net.minecraft.core.BlockPos;
+import net.minecraft.core.Holder;
 import net.minecraft.server.MinecraftServer;
 import net.minecraft.server.level.ServerLevel;
 import net.minecraft.util.ProgressListener;
 import net.minecraft.util.random.WeightedRandomList;
 import net.minecraft.world.entity.MobCategory;
 import net.minecraft.world.level.LevelAccessor;
+import net.minecraft.world.level.biome.Biome;
 import net.minecraft.world.level.biome.MobSpawnSettings;
 import net.minecraft.world.level.storage.ServerLevelData;
 import net.neoforged.bus.api.Event;
 import net.neoforged.bus.api.ICancellableEvent;
 import net.neoforged.fml.LogicalSide;
 import net.neoforged.neoforge.common.NeoForge;
+import net.neoforged.neoforge.common.world.PotentialSpawnsCache;
 import org.jetbrains.annotations.Nullable;
 
 /**
@@ -127,6 +130,10 @@ public abstract class LevelEvent extends Event {
      *
      * The event is called in {@link net.minecraft.world.level.NaturalSpawner#mobsAt(ServerLevel,
      * StructureManager, ChunkGenerator, MobCategory, RandomSource, BlockPos)}.</p>
+     *
+     * <p>This event is fired for every spawn attempt. Modifications that do not depend on the exact position
+     * should use {@link CachedPotentialSpawns} instead, whose results are reused by the following spawn attempts.
+     * The list passed to this event already contains the modifications made by {@link CachedPotentialSpawns}.</p>
      * 
      * <p>This event is {@linkplain ICancellableEvent cancellable}, and does not {@linkplain HasResult have a result}.
      * Canceling the event will result in an empty list, meaning no entity will be spawned.</p>
@@ -196,4 +203,89 @@ public abstract class LevelEvent extends Event {
             return list.remove(data);
         }
     }
+
+    /**
+     * Fired when building the list of all possible entities that can spawn in a biome, or in a structure that
+     * overrides the spawns of the biome, for a mob category.
+     * <p>
+     * Unlike {@link PotentialSpawns}, this event is not fired for every spawn attempt. The resulting list is
+     * cached per level, biome, mob category and original spawn list, and reused until the cache is
+     * {@linkplain PotentialSpawnsCache#invalidate(LevelAccessor) invalidated}. Listeners must therefore only depend
+     * on the information provided by this event, and invalidate the cache when their modifications change.
+     * The cache is invalidated automatically when datapacks are reloaded.
+     * <p>
+     * If an entry is added to the list, it needs to be a globally unique instance.
+     * <p>
+     * This event is {@linkplain ICancellableEvent cancellable}, and does not {@linkplain HasResult have a result}.
+     * Canceling the event will result in an empty list, meaning no entity will be spawned.
+     * <p>
+     * This event is fired on the {@linkplain NeoForge#EVENT_BUS main Forge event bus}
+     * only on the {@linkplain LogicalSide#SERVER logical server}.
+     */
+    public static class CachedPotentialSpawns extends LevelEvent implements ICancellableEvent {
+        private final MobCategory mobcategory;
+        private final Holder<Biome> biome;
+        @Nullable
+        private List<MobSpawnSettings.SpawnerData> list;
+        private List<MobSpawnSettings.SpawnerData> view;
+
+        public CachedPotentialSpawns(LevelAccessor level, MobCategory category, Holder<Biome> biome, WeightedRandomList<MobSpawnSettings.SpawnerData> oldList) {
+            super(level);
+            this.mobcategory = category;
+            this.biome = biome;
+            this.list = null;
+            this.view = oldList.unwrap();
+        }
+
+        /**
+         * {@return the category of the mobs in the spawn list.}
+         */
+        public MobCategory getMobCategory() {
+            return mobcategory;
+        }
+
+        /**
+         * {@return the biome the mobs would be spawned in.}
+         * The original spawn list may come from a structure overriding the spawns of this biome instead of the biome itself.
+         */
+        public Holder<Biome> getBiome() {
+            return biome;
+        }
+
+        /**
+         * {@return the list of mobs that can potentially be spawned.}
+         */
+        public List<MobSpawnSettings.SpawnerData> getSpawnerDataList() {
+            return view;
+        }
+
+        private void makeList() {
+            if (list == null) {
+                list = new ArrayList<>(view);
+                view = Collections.unmodifiableList(list);
+            }
+        }
+
+        /**
+         * Appends a SpawnerData entry to the spawn list.
+         *
+         * @param data SpawnerData entry to be appended to the spawn list.
+         */
+        public void addSpawnerData(MobSpawnSettings.SpawnerData data) {
+            makeList();
+            list.add(data);
+        }
+
+        /**
+         * Removes a SpawnerData entry from the spawn list.
+         *
+         * @param data SpawnerData entry to be removed from the spawn list.
+         *
+         *             {@return {@code true} if the spawn list contained the specified element.}
+         */
+        public boolean removeSpawnerData(MobSpawnSettings.SpawnerData data) {
+            makeList();
+            return list.remove(data);
+        }
+    }
 }
@@ -6,7 +6,7 @@
 package net.neoforged.neoforge.fluids;
 
 import java.util.ArrayList;
-import java.util.Collections;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -20,6 +20,8 @@ import net.minecraft.world.level.block.state.BlockState;
 import net.minecraft.world.level.material.FluidState;
 import net.neoforged.neoforge.common.NeoForgeMod;
 import net.neoforged.neoforge.event.EventHooks;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
 
 /**
  * A registry which defines the interactions a source fluid can have with its
@@ -33,6 +35,14 @@ import net.neoforged.neoforge.event.EventHooks;
  */
 public final class FluidInteractionRegistry {
     private static final Map<FluidType, List<InteractionInformation>> INTERACTIONS = new HashMap<>();
+    private static final InteractionInformation[] NO_INTERACTIONS = new InteractionInformation[0];
+    /**
+     * The interactions of each source, indexed by {@linkplain FluidType#getId() fluid type id}.
+     * Compiled on first use and discarded whenever an interaction is added or fluid type ids are reassigned,
+     * such as when a registry snapshot is applied.
+     */
+    @Nullable
+    private static volatile InteractionInformation[][] compiledInteractions;
 
     /**
      * Adds an interaction between a source and its surroundings.
@@ -42,6 +52,15 @@ public final class FluidInteractionRegistry {
      */
     public static synchronized void addInteraction(FluidType source, InteractionInformation interaction) {
         INTERACTIONS.computeIfAbsent(source, s -> new ArrayList<>()).add(interaction);
+        compiledInteractions = null;
+    }
+
+    /**
+     * Discards the compiled interactions, which must be called when fluid type ids change.
+     */
+    @ApiStatus.Internal
+    public static synchronized void invalidateCompiledInteractions() {
+        compiledInteractions = null;
     }
 
     /**
@@ -55,11 +74,25 @@ public final class FluidInteractionRegistry {
      */
     public static boolean canInteract(Level level, BlockPos pos) {
         FluidState state = level.getFluidState(pos);
+        InteractionInformation[] interactions = getInteractions(state.getFluidType());
+        if (interactions.length == 0) {
+            return false;
+        }
         for (Direction direction : LiquidBlock.POSSIBLE_FLOW_DIRECTIONS) {
             BlockPos relativePos = pos.relative(direction.getOpposite());
-            List<InteractionInformation> interactions = INTERACTIONS.getOrDefault(state.getFluidType(), Collections.emptyList());
+            // Read at most once per direction, and shared by all interactions with a surrounding fluid type
+            FluidType relativeType = null;
             for (InteractionInformation interaction : interactions) {
-                if (interaction.predicate().test(level, pos, relativePos, state)) {
+                boolean canInteract;
+                if (interaction.predicate() instanceof SurroundingFluidType surrounding) {
+                    if (relativeType == null) {
+                        relativeType = level.getFluidState(relativePos).getFluidType();
+                    }
+                    canInteract = relativeType == surrounding.type();
+                } else {
+                    canInteract = interaction.predicate().test(level, pos, relativePos, state);
+                }
+                if (canInteract) {
                     interaction.interaction().interact(level, pos, relativePos, state);
                     return true;
                 }
@@ -69,6 +102,37 @@ public final class FluidInteractionRegistry {
         return false;
     }
 
+    private static InteractionInformation[] getInteractions(FluidType source) {
+        InteractionInformation[][] compiled = compiledInteractions;
+        if (compiled == null) {
+            compiled = compileInteractions();
+        }
+        int id = source.getId();
+        return id >= 0 && id < compiled.length ? compiled[id] : NO_INTERACTIONS;
+    }
+
+    private static synchronized InteractionInformation[][] compileInteractions() {
+        InteractionInformation[][] compiled = compiledInteractions;
+        if (compiled != null) {
+            return compiled;
+        }
+        int size = 0;
+        for (FluidType source : INTERACTIONS.keySet()) {
+            size = Math.max(size, source.getId() + 1);
+        }
+        compiled = new InteractionInformation[size][];
+        Arrays.fill(compiled, NO_INTERACTIONS);
+        for (var entry : INTERACTIONS.entrySet()) {
+            int id = entry.getKey().getId();
+            // Unregistered fluid types cannot be the type of a fluid in the level
+            if (id >= 0) {
+                compiled[id] = entry.getValue().toArray(InteractionInformation[]::new);
+            }
+        }
+        compiledInteractions = compiled;
+        return compiled;
+    }
+
     static {
         // Lava + Water = Obsidian (Source Lava) / Cobblestone (Flowing Lava)
         addInteraction(NeoForgeMod.LAVA_TYPE.value(), new InteractionInformation(
@@ -118,7 +182,7 @@ public final class FluidInteractionRegistry {
          * @param getState a function to transform the source fluid into a block state
          */
         public InteractionInformation(FluidType type, Function<FluidState, BlockState> getState) {
-            this((level, currentPos, relativePos, currentState) -> level.getFluidState(relativePos).getFluidType() == type, getState);
+            this(new SurroundingFluidType(type), getState);
         }
 
         /**
@@ -135,6 +199,17 @@ public final class FluidInteractionRegistry {
         }
     }
 
+    /**
+     * Tests whether the fluid surrounding the source is of the given type.
+     * Recognized by {@link #canInteract(Level, BlockPos)} to share the surrounding fluid state between interactions.
+     */
+    private record SurroundingFluidType(FluidType type) implements HasFluidInteraction {
+        @Override
+        public boolean test(Level level, BlockPos currentPos, BlockPos relativePos, FluidState currentState) {
+            return level.getFluidState(relativePos).getFluidType() == type;
+        }
+    }
+
     /**
      * An interface which tests whether a source fluid can interact with its
      * surroundings.
@@ -10,6 +10,7 @@ import java.util.HashMap;
 import java.util.Map;
 import net.minecraft.Util;
 import net.minecraft.core.BlockPos;
+import net.minecraft.core.Registry;
 import net.minecraft.core.particles.ParticleOptions;
 import net.minecraft.core.particles.ParticleTypes;
 import net.minecraft.network.chat.Component;
@@ -46,6 +47,7 @@ import net.neoforged.neoforge.common.SoundAction;
 import net.neoforged.neoforge.common.SoundActions;
 import net.neoforged.neoforge.common.util.Lazy;
 import net.neoforged.neoforge.registries.NeoForgeRegistries;
+import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.Nullable;
 
 /**
@@ -90,6 +92,10 @@ public class FluidType {
     private final Rarity rarity;
     @Nullable
     private final DripstoneDripInfo dripInfo;
+    /**
+     * The dense id of this fluid type, assigned when the fluid type registry is baked.
+     */
+    private int id = -1;
 
     /**
      * A map of actions performed to sound that should be played.
@@ -123,6 +129,32 @@ public class FluidType {
         this.dripInfo = properties.dripInfo;
     }
 
+    /**
+     * Returns the dense id of this fluid type, which matches its registry id.
+     * Ids are small non-negative integers, suitable for indexing arrays.
+     *
+     * @return the dense id of this fluid type, or {@code -1} if it is not registered
+     */
+    public final int getId() {
+        int id = this.id;
+        if (id < 0) {
+            // Not baked yet, fall back to the registry lookup
+            id = NeoForgeRegistries.FLUID_TYPES.getId(this);
+        }
+        return id;
+    }
+
+    /**
+     * Assigns each registered fluid type its dense id.
+     * Called when the fluid type registry is baked.
+     */
+    @ApiStatus.Internal
+    public static void assignIds(Registry<FluidType> registry) {
+        for (FluidType type : registry) {
+            type.id = registry.getId(type);
+        }
+    }
+
     /* Default Accessors */
 
     /**
@@ -0,0 +1,191 @@
+/*
+ * Copyright (c) NeoForged and contributors
+ * SPDX-License-Identifier: LGPL-2.1-only
+ */
+
+package net.neoforged.neoforge.fluids;
+
+import java.util.Arrays;
+import net.minecraft.world.entity.Entity;
+import net.minecraft.world.phys.Vec3;
+import org.jetbrains.annotations.ApiStatus;
+
+/**
+ * The heights of the fluid types an {@link Entity} is in, indexed by {@linkplain FluidType#getId() fluid type id}.
+ * <p>
+ * Fluid types are iterated in the order they were first added, and a fluid type with a height of {@code 0}
+ * still counts as present, like in a map from fluid type to height.
+ */
+@ApiStatus.Internal
+public final class FluidTypeHeights {
+    private static final double[] NO_HEIGHTS = new double[0];
+    private static final long[] NO_BITS = new long[0];
+
+    private double[] heights = NO_HEIGHTS;
+    private long[] present = NO_BITS;
+    private FluidType[] types = new FluidType[2];
+    private int size;
+
+    /**
+     * {@return the number of fluid types with a height}
+     */
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * {@return the fluid type at the given index, in insertion order}
+     */
+    public FluidType type(int index) {
+        return types[index];
+    }
+
+    /**
+     * {@return the height of the fluid type at the given index, in insertion order}
+     */
+    public double height(int index) {
+        return heights[types[index].getId()];
+    }
+
+    /**
+     * {@return the height of the given fluid type, or {@code 0} if it is not present}
+     */
+    public double get(FluidType type) {
+        int id = type.getId();
+        return id >= 0 && id < heights.length ? heights[id] : 0.0D;
+    }
+
+    public void put(FluidType type, double height) {
+        int id = type.getId();
+        if (id < 0) {
+            throw new IllegalArgumentException("Unregistered fluid type " + type);
+        }
+        if (id >= heights.length) {
+            heights = Arrays.copyOf(heights, Math.max(id + 1, FluidType.SIZE.get()));
+            present = Arrays.copyOf(present, (heights.length + 63) >> 6);
+        }
+        if ((present[id >> 6] & (1L << id)) == 0) {
+            present[id >> 6] |= 1L << id;
+            if (size == types.length) {
+                types = Arrays.copyOf(types, size * 2);
+            }
+            types[size++] = type;
+        }
+        heights[id] = height;
+    }
+
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            int id = types[i].getId();
+            heights[id] = 0.0D;
+            present[id >> 6] = 0L;
+            types[i] = null;
+        }
+        size = 0;
+    }
+
+    /**
+     * Reusable scratch space for accumulating the heights and flows of the fluid types an entity touches
+     * while {@linkplain Entity#updateFluidHeightAndDoFluidPushing() updating its fluid state}.
+     */
+    public static final class Accumulator {
+        private static final ThreadLocal<Accumulator> CACHE = ThreadLocal.withInitial(Accumulator::new);
+
+        private final FluidTypeHeights heights = new FluidTypeHeights();
+        private double[] flows = NO_HEIGHTS;
+        private int[] blockCounts = new int[0];
+        private boolean inUse;
+
+        private Accumulator() {}
+
+        /**
+         * {@return an empty accumulator, which must be {@linkplain #release() released} after use}
+         */
+        public static Accumulator acquire() {
+            Accumulator accumulator = CACHE.get();
+            if (accumulator.inUse) {
+                // Only happens if fluid state updates are nested, or a previous update failed
+                return new Accumulator();
+            }
+            accumulator.inUse = true;
+            return accumulator;
+        }
+
+        public void release() {
+            int count = Math.min(heights.size(), blockCounts.length);
+            Arrays.fill(flows, 0, count * 3, 0.0D);
+            Arrays.fill(blockCounts, 0, count, 0);
+            heights.clear();
+            inUse = false;
+        }
+
+        /**
+         * Raises the height of the given fluid type to at least the given height.
+         *
+         * @return the new height of the fluid type
+         */
+        public double addHeight(FluidType type, double height) {
+            double newHeight = Math.max(height, heights.get(type));
+            heights.put(type, newHeight);
+            return newHeight;
+        }
+
+        /**
+         * Adds the flow of a block to the given fluid type, which must have a height.
+         */
+        public void addFlow(FluidType type, Vec3 flow) {
+            int index = indexOf(type);
+            if (index * 3 + 3 > flows.length) {
+                flows = Arrays.copyOf(flows, Math.max(index * 3 + 3, flows.length * 2));
+                blockCounts = Arrays.copyOf(blockCounts, flows.length / 3);
+            }
+            flows[index * 3] += flow.x;
+            flows[index * 3 + 1] += flow.y;
+            flows[index * 3 + 2] += flow.z;
+            blockCounts[index]++;
+        }
+
+        public int size() {
+            return heights.size();
+        }
+
+        public FluidType type(int index) {
+            return heights.type(index);
+        }
+
+        public double height(int index) {
+            return heights.height(index);
+        }
+
+        /**
+         * {@return the sum of the flows added to the fluid type at the given index}
+         */
+        public Vec3 flow(int index) {
+            if (index * 3 >= flows.length) {
+                return Vec3.ZERO;
+            }
+            return new Vec3(flows[index * 3], flows[index * 3 + 1], flows[index * 3 + 2]);
+        }
+
+        /**
+         * {@return the number of flows added to the fluid type at the given index}
+         */
+        public int blockCount(int index) {
+            return index < blockCounts.length ? blockCounts[index] : 0;
+        }
+
+        private int indexOf(FluidType type) {
+            // Entities rarely touch more than one or two fluid types at once
+            for (int i = 0; i < heights.size(); i++) {
+                if (heights.type(i) == type) {
+                    return i;
+                }
+            }
+            throw new IllegalStateException("Fluid type " + type + " has no height");
+        }
+    }
+}
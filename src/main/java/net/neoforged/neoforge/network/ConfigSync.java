@@ -5,40 +5,184 @@
 
 package net.neoforged.neoforge.network;
 
+import com.google.common.hash.Hashing;
+import io.netty.buffer.Unpooled;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.Inflater;
 import net.minecraft.client.Minecraft;
+import net.minecraft.network.FriendlyByteBuf;
 import net.neoforged.fml.config.ConfigTracker;
 import net.neoforged.fml.config.ModConfig;
 import net.neoforged.fml.config.ModConfigs;
 import net.neoforged.neoforge.network.payload.ConfigFilePayload;
+import net.neoforged.neoforge.network.payload.ConfigFilesPayload;
 import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
 
 @ApiStatus.Internal
 public final class ConfigSync {
     private ConfigSync() {}
 
-    public static List<ConfigFilePayload> syncConfigs() {
-        final Map<String, byte[]> configData = ModConfigs.getConfigSet(ModConfig.Type.SERVER).stream().collect(Collectors.toMap(ModConfig::getFileName, mc -> {
-            try {
-                return Files.readAllBytes(mc.getFullPath());
-            } catch (IOException e) {
-                throw new RuntimeException(e);
+    /**
+     * The contents of the server configs, read once and shared by all logins until a config is loaded, reloaded or unloaded.
+     */
+    @Nullable
+    private static volatile CachedConfigs cachedConfigs;
+    /**
+     * Content hashes of the synced configs that the client has applied, by file name.
+     */
+    private static final Map<String, byte[]> appliedHashes = new HashMap<>();
+
+    private record CachedConfigs(List<ConfigFilePayload> files, ConfigFilesPayload compressed) {}
+
+    /**
+     * Invalidates the cached server config contents. Called whenever a config is loaded, reloaded or unloaded.
+     */
+    public static void invalidateCache() {
+        cachedConfigs = null;
+    }
+
+    /**
+     * Forgets which synced configs the client has applied, so that they are applied again on the next login.
+     * Called when the server configs are loaded or unloaded locally, which replaces any synced contents.
+     */
+    public static void clearAppliedConfigs() {
+        synchronized (appliedHashes) {
+            appliedHashes.clear();
+        }
+    }
+
+    private static CachedConfigs getCachedConfigs() {
+        CachedConfigs cached = cachedConfigs;
+        if (cached == null) {
+            synchronized (ConfigSync.class) {
+                cached = cachedConfigs;
+                if (cached == null) {
+                    List<ConfigFilePayload> files = new ArrayList<>();
+                    for (ModConfig config : ModConfigs.getConfigSet(ModConfig.Type.SERVER)) {
+                        try {
+                            files.add(new ConfigFilePayload(config.getFileName(), Files.readAllBytes(config.getFullPath())));
+                        } catch (IOException e) {
+                            throw new RuntimeException(e);
+                        }
+                    }
+                    cachedConfigs = cached = new CachedConfigs(List.copyOf(files), new ConfigFilesPayload(compress(files)));
+                }
             }
-        }));
+        }
+        return cached;
+    }
 
-        return configData.entrySet().stream()
-                .map(e -> new ConfigFilePayload(e.getKey(), e.getValue()))
-                .toList();
+    /**
+     * {@return the payloads to send the server configs to a client that only supports one payload per config file}
+     */
+    public static List<ConfigFilePayload> syncConfigs() {
+        return getCachedConfigs().files();
+    }
+
+    /**
+     * {@return a single compressed payload containing all server configs}
+     */
+    public static ConfigFilesPayload syncCompressedConfigs() {
+        return getCachedConfigs().compressed();
     }
 
     public static void receiveSyncedConfig(final byte[] contents, final String fileName) {
         if (!Minecraft.getInstance().isLocalServer()) {
             Optional.ofNullable(ModConfigs.getFileMap().get(fileName)).ifPresent(mc -> ConfigTracker.INSTANCE.acceptSyncedConfig(mc, contents));
+            synchronized (appliedHashes) {
+                appliedHashes.remove(fileName);
+            }
+        }
+    }
+
+    public static void receiveSyncedConfigs(final byte[] compressed) {
+        if (Minecraft.getInstance().isLocalServer()) {
+            return;
+        }
+        FriendlyByteBuf buf = new FriendlyByteBuf(Unpooled.wrappedBuffer(decompress(compressed)));
+        try {
+            int count = buf.readVarInt();
+            for (int i = 0; i < count; i++) {
+                String fileName = buf.readUtf();
+                byte[] hash = buf.readByteArray();
+                byte[] contents = buf.readByteArray();
+                synchronized (appliedHashes) {
+                    // Reconnecting to a server with unchanged configs does not need to parse them again
+                    if (Arrays.equals(appliedHashes.get(fileName), hash)) {
+                        continue;
+                    }
+                }
+                ModConfig config = ModConfigs.getFileMap().get(fileName);
+                if (config != null) {
+                    ConfigTracker.INSTANCE.acceptSyncedConfig(config, contents);
+                    synchronized (appliedHashes) {
+                        appliedHashes.put(fileName, hash);
+                    }
+                }
+            }
+        } finally {
+            buf.release();
         }
     }
+
+    /**
+     * Writes the file names, content hashes and contents of the configs to a single deflate-compressed array.
+     */
+    private static byte[] compress(List<ConfigFilePayload> files) {
+        FriendlyByteBuf buf = new FriendlyByteBuf(Unpooled.buffer());
+        try {
+            buf.writeVarInt(files.size());
+            for (ConfigFilePayload file : files) {
+                buf.writeUtf(file.fileName());
+                buf.writeByteArray(hash(file.contents()));
+                buf.writeByteArray(file.contents());
+            }
+            ByteArrayOutputStream out = new ByteArrayOutputStream(buf.readableBytes() / 4);
+            try (DeflaterOutputStream deflater = new DeflaterOutputStream(out, new Deflater(Deflater.BEST_COMPRESSION))) {
+                buf.readBytes(deflater, buf.readableBytes());
+            }
+            return out.toByteArray();
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        } finally {
+            buf.release();
+        }
+    }
+
+    private static byte[] decompress(byte[] compressed) {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(compressed);
+            ByteArrayOutputStream out = new ByteArrayOutputStream(compressed.length * 4);
+            byte[] buffer = new byte[8192];
+            while (!inflater.finished()) {
+                int read = inflater.inflate(buffer);
+                if (read == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new IllegalStateException("Truncated config sync data");
+                }
+                out.write(buffer, 0, read);
+            }
+            return out.toByteArray();
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("Malformed config sync data", e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private static byte[] hash(byte[] contents) {
+        return Hashing.sha256().hashBytes(contents).asBytes();
+    }
 }
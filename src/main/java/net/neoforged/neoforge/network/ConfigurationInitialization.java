@@ -22,6 +22,7 @@ import net.neoforged.neoforge.network.event.RegisterConfigurationTasksEvent;
 import net.neoforged.neoforge.network.payload.CommonRegisterPayload;
 import net.neoforged.neoforge.network.payload.CommonVersionPayload;
 import net.neoforged.neoforge.network.payload.ConfigFilePayload;
+import net.neoforged.neoforge.network.payload.ConfigFilesPayload;
 import net.neoforged.neoforge.network.payload.FrozenRegistryPayload;
 import net.neoforged.neoforge.network.payload.FrozenRegistrySyncCompletedPayload;
 import net.neoforged.neoforge.network.payload.FrozenRegistrySyncStartPayload;
@@ -50,7 +51,7 @@ public class ConfigurationInitialization {
             event.register(new CommonRegisterTask());
         }
 
-        if (listener.hasChannel(ConfigFilePayload.TYPE)) {
+        if (listener.hasChannel(ConfigFilesPayload.TYPE) || listener.hasChannel(ConfigFilePayload.TYPE)) {
             event.register(new SyncConfig(listener));
         }
 
@@ -7,6 +7,7 @@ package net.neoforged.neoforge.network;
 
 import net.neoforged.bus.api.SubscribeEvent;
 import net.neoforged.fml.common.EventBusSubscriber;
+import net.neoforged.neoforge.attachment.AttachmentSync;
 import net.neoforged.neoforge.internal.versions.neoforge.NeoForgeVersion;
 import net.neoforged.neoforge.network.configuration.CheckExtensibleEnums;
 import net.neoforged.neoforge.network.configuration.CheckFeatureFlags;
@@ -20,6 +21,7 @@ import net.neoforged.neoforge.network.payload.AdvancedOpenScreenPayload;
 import net.neoforged.neoforge.network.payload.AuxiliaryLightDataPayload;
 import net.neoforged.neoforge.network.payload.ClientboundCustomSetTimePayload;
 import net.neoforged.neoforge.network.payload.ConfigFilePayload;
+import net.neoforged.neoforge.network.payload.ConfigFilesPayload;
 import net.neoforged.neoforge.network.payload.ExtensibleEnumAcknowledgePayload;
 import net.neoforged.neoforge.network.payload.ExtensibleEnumDataPayload;
 import net.neoforged.neoforge.network.payload.FeatureFlagAcknowledgePayload;
@@ -30,6 +32,7 @@ import net.neoforged.neoforge.network.payload.FrozenRegistrySyncStartPayload;
 import net.neoforged.neoforge.network.payload.KnownRegistryDataMapsPayload;
 import net.neoforged.neoforge.network.payload.KnownRegistryDataMapsReplyPayload;
 import net.neoforged.neoforge.network.payload.RegistryDataMapSyncPayload;
+import net.neoforged.neoforge.network.payload.SyncAttachmentsPayload;
 import net.neoforged.neoforge.network.registration.PayloadRegistrar;
 import net.neoforged.neoforge.registries.ClientRegistryManager;
 import net.neoforged.neoforge.registries.RegistryManager;
@@ -47,6 +50,10 @@ public class NetworkInitialization {
                         ConfigFilePayload.TYPE,
                         ConfigFilePayload.STREAM_CODEC,
                         ClientPayloadHandler::handle)
+                .configurationToClient(
+                        ConfigFilesPayload.TYPE,
+                        ConfigFilesPayload.STREAM_CODEC,
+                        ClientPayloadHandler::handle)
                 .configurationToClient(
                         FrozenRegistrySyncStartPayload.TYPE,
                         FrozenRegistrySyncStartPayload.STREAM_CODEC,
@@ -105,6 +112,10 @@ public class NetworkInitialization {
                 .playToClient(
                         ClientboundCustomSetTimePayload.TYPE,
                         ClientboundCustomSetTimePayload.STREAM_CODEC,
-                        ClientPayloadHandler::handle);
+                        ClientPayloadHandler::handle)
+                .playToClient(
+                        SyncAttachmentsPayload.TYPE,
+                        SyncAttachmentsPayload.STREAM_CODEC,
+                        AttachmentSync::handleSyncPayload);
     }
 }
@@ -11,6 +11,7 @@ import net.minecraft.network.protocol.configuration.ServerConfigurationPacketLis
 import net.minecraft.resources.ResourceLocation;
 import net.neoforged.neoforge.internal.versions.neoforge.NeoForgeVersion;
 import net.neoforged.neoforge.network.ConfigSync;
+import net.neoforged.neoforge.network.payload.ConfigFilesPayload;
 import org.jetbrains.annotations.ApiStatus;
 
 /**
@@ -25,7 +26,11 @@ public record SyncConfig(ServerConfigurationPacketListener listener) implements
 
     @Override
     public void run(Consumer<CustomPacketPayload> sender) {
-        ConfigSync.syncConfigs().forEach(sender);
+        if (listener().hasChannel(ConfigFilesPayload.TYPE)) {
+            sender.accept(ConfigSync.syncCompressedConfigs());
+        } else {
+            ConfigSync.syncConfigs().forEach(sender);
+        }
         listener().finishCurrentTask(type());
     }
 
@@ -35,6 +35,7 @@ import net.neoforged.neoforge.network.payload.AdvancedOpenScreenPayload;
 import net.neoforged.neoforge.network.payload.AuxiliaryLightDataPayload;
 import net.neoforged.neoforge.network.payload.ClientboundCustomSetTimePayload;
 import net.neoforged.neoforge.network.payload.ConfigFilePayload;
+import net.neoforged.neoforge.network.payload.ConfigFilesPayload;
 import net.neoforged.neoforge.network.payload.FrozenRegistryPayload;
 import net.neoforged.neoforge.network.payload.FrozenRegistrySyncCompletedPayload;
 import net.neoforged.neoforge.network.payload.FrozenRegistrySyncStartPayload;
@@ -89,6 +90,15 @@ public final class ClientPayloadHandler {
         ConfigSync.receiveSyncedConfig(payload.contents(), payload.fileName());
     }
 
+    public static void handle(ConfigFilesPayload payload, IPayloadContext context) {
+        try {
+            ConfigSync.receiveSyncedConfigs(payload.data());
+        } catch (Throwable t) {
+            LOGGER.error("Failed to handle config sync from server.", t);
+            context.disconnect(Component.translatable("neoforge.network.config_sync.failed", t.toString()));
+        }
+    }
+
     public static void handle(AdvancedAddEntityPayload advancedAddEntityPayload, IPayloadContext context) {
         try {
             Entity entity = context.player().level().getEntity(advancedAddEntityPayload.entityId());
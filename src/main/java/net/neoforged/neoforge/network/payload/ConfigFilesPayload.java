@@ -0,0 +1,35 @@
+/*
+ * Copyright (c) NeoForged and contributors
+ * SPDX-License-Identifier: LGPL-2.1-only
+ */
+
+package net.neoforged.neoforge.network.payload;
+
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.network.codec.StreamCodec;
+import net.minecraft.network.protocol.common.custom.CustomPacketPayload;
+import net.minecraft.resources.ResourceLocation;
+import net.neoforged.neoforge.internal.versions.neoforge.NeoForgeVersion;
+import net.neoforged.neoforge.network.codec.NeoForgeStreamCodecs;
+import org.jetbrains.annotations.ApiStatus;
+
+/**
+ * A payload that contains all synced config files, compressed.
+ * <p>
+ * This is used to send the server config files to the client in one go.
+ * Each file is accompanied by a hash of its contents, so that the client can skip files it has already applied.
+ * The same payload instance is shared by all logins until a server config changes.
+ * </p>
+ *
+ * @param data The compressed file names, content hashes and contents of the config files.
+ */
+@ApiStatus.Internal
+public record ConfigFilesPayload(byte[] data) implements CustomPacketPayload {
+    public static final Type<ConfigFilesPayload> TYPE = new Type<>(ResourceLocation.fromNamespaceAndPath(NeoForgeVersion.MOD_ID, "config_files"));
+    public static final StreamCodec<FriendlyByteBuf, ConfigFilesPayload> STREAM_CODEC = NeoForgeStreamCodecs.UNBOUNDED_BYTE_ARRAY.map(ConfigFilesPayload::new, ConfigFilesPayload::data);
+
+    @Override
+    public Type<ConfigFilesPayload> type() {
+        return TYPE;
+    }
+}
@@ -0,0 +1,44 @@
+/*
+ * Copyright (c) NeoForged and contributors
+ * SPDX-License-Identifier: LGPL-2.1-only
+ */
+
+package net.neoforged.neoforge.network.payload;
+
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.network.codec.ByteBufCodecs;
+import net.minecraft.network.codec.StreamCodec;
+import net.minecraft.network.protocol.common.custom.CustomPacketPayload;
+import net.minecraft.resources.ResourceLocation;
+import net.neoforged.neoforge.attachment.AttachmentSync;
+import net.neoforged.neoforge.internal.versions.neoforge.NeoForgeVersion;
+import net.neoforged.neoforge.network.codec.NeoForgeStreamCodecs;
+import org.jetbrains.annotations.ApiStatus;
+
+/**
+ * Payload that syncs a batch of changed data attachments of a single holder to the client.
+ *
+ * <p>The attachment values are encoded on the server thread when the payload is created,
+ * so that the payload can be shared between players and attachments can keep being modified while it is being sent.
+ *
+ * @param holderType The kind of holder the attachments belong to.
+ * @param holderId   The entity id for entities, the packed chunk position for chunks, unused for levels.
+ * @param data       The encoded attachments, see {@link AttachmentSync}.
+ */
+@ApiStatus.Internal
+public record SyncAttachmentsPayload(AttachmentSync.HolderType holderType, long holderId, byte[] data) implements CustomPacketPayload {
+    public static final Type<SyncAttachmentsPayload> TYPE = new Type<>(ResourceLocation.fromNamespaceAndPath(NeoForgeVersion.MOD_ID, "sync_attachments"));
+    public static final StreamCodec<FriendlyByteBuf, SyncAttachmentsPayload> STREAM_CODEC = StreamCodec.composite(
+            NeoForgeStreamCodecs.enumCodec(AttachmentSync.HolderType.class),
+            SyncAttachmentsPayload::holderType,
+            ByteBufCodecs.VAR_LONG,
+            SyncAttachmentsPayload::holderId,
+            NeoForgeStreamCodecs.UNBOUNDED_BYTE_ARRAY,
+            SyncAttachmentsPayload::data,
+            SyncAttachmentsPayload::new);
+
+    @Override
+    public Type<SyncAttachmentsPayload> type() {
+        return TYPE;
+    }
+}
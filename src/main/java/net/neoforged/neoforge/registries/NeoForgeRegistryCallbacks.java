@@ -20,9 +20,12 @@ import net.minecraft.world.entity.ai.village.poi.PoiType;
 import net.minecraft.world.item.BlockItem;
 import net.minecraft.world.item.Item;
 import net.minecraft.world.level.block.Block;
-import net.minecraft.world.level.block.state.BlockBehaviour;
 import net.minecraft.world.level.block.state.BlockState;
 import net.minecraft.world.level.levelgen.DebugLevelSource;
+import net.neoforged.neoforge.attachment.AttachmentInternals;
+import net.neoforged.neoforge.attachment.AttachmentType;
+import net.neoforged.neoforge.fluids.FluidInteractionRegistry;
+import net.neoforged.neoforge.fluids.FluidType;
 import net.neoforged.neoforge.registries.callback.AddCallback;
 import net.neoforged.neoforge.registries.callback.BakeCallback;
 import net.neoforged.neoforge.registries.callback.ClearCallback;
@@ -51,7 +54,10 @@ class NeoForgeRegistryCallbacks {
             // Init cache for new blocks only (the cache init is expensive).
             // State cache init cannot be done in onAdd because some of it might depend on other registries being populated in mod code.
             for (Block block : addedBlocks) {
-                block.getStateDefinition().getPossibleStates().forEach(BlockBehaviour.BlockStateBase::initCache);
+                for (BlockState state : block.getStateDefinition().getPossibleStates()) {
+                    state.initCache();
+                    state.initLightEmissionCache();
+                }
             }
             addedBlocks.clear();
 
@@ -99,6 +105,26 @@ class NeoForgeRegistryCallbacks {
         }
     }
 
+    static class AttachmentTypeCallbacks implements BakeCallback<AttachmentType<?>> {
+        static final AttachmentTypeCallbacks INSTANCE = new AttachmentTypeCallbacks();
+
+        @Override
+        public void onBake(Registry<AttachmentType<?>> registry) {
+            AttachmentInternals.assignSlots(registry);
+        }
+    }
+
+    static class FluidTypeCallbacks implements BakeCallback<FluidType> {
+        static final FluidTypeCallbacks INSTANCE = new FluidTypeCallbacks();
+
+        @Override
+        public void onBake(Registry<FluidType> registry) {
+            FluidType.assignIds(registry);
+            // The compiled interactions are indexed by the ids that were just reassigned
+            FluidInteractionRegistry.invalidateCompiledInteractions();
+        }
+    }
+
     static class PoiTypeCallbacks implements AddCallback<PoiType>, ClearCallback<PoiType> {
         static final PoiTypeCallbacks INSTANCE = new PoiTypeCallbacks();
         static final Map<BlockState, Holder<PoiType>> BLOCKSTATE_TO_POI_TYPE_MAP = new HashMap<>();
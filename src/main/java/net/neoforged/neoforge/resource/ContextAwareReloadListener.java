@@ -52,17 +52,22 @@ public abstract class ContextAwareReloadListener implements PreparableReloadList
 
     /**
      * Creates a new {@link ConditionalOps} using {@link #getContext()} and {@link #getRegistryLookup()} ()}.
+     * The returned ops {@linkplain ConditionalOps#withConditionCache() cache condition results}, so a new one must be created for each reload.
      */
     protected final ConditionalOps<JsonElement> makeConditionalOps() {
-        return new ConditionalOps<>(getRegistryLookup().createSerializationContext(JsonOps.INSTANCE), getContext());
+        return new ConditionalOps<>(getRegistryLookup().createSerializationContext(JsonOps.INSTANCE), getContext()).withConditionCache();
     }
 
+    /**
+     * Creates a new {@link ConditionalOps} based on the given ops, using {@link #getContext()} unless the given ops are already conditional.
+     * The returned ops {@linkplain ConditionalOps#withConditionCache() cache condition results}, so a new one must be created for each reload.
+     */
     protected final ConditionalOps<JsonElement> makeConditionalOps(DynamicOps<JsonElement> ops) {
         if (ops instanceof ConditionalOps<JsonElement> conditionalOps) {
-            return conditionalOps;
+            return conditionalOps.withConditionCache();
         }
         if (ops instanceof RegistryOps<JsonElement> registryOps) {
-            return new ConditionalOps<>(registryOps, getContext());
+            return new ConditionalOps<>(registryOps, getContext()).withConditionCache();
         }
         return makeConditionalOps();
     }
@@ -0,0 +1,262 @@
+/*
+ * Copyright (c) NeoForged and contributors
+ * SPDX-License-Identifier: LGPL-2.1-only
+ */
+
+package net.neoforged.neoforge.resource;
+
+import com.google.common.base.Joiner;
+import com.mojang.logging.LogUtils;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.NotDirectoryException;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+import net.minecraft.FileUtil;
+import net.minecraft.Util;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.packs.AbstractPackResources;
+import net.minecraft.server.packs.CompositePackResources;
+import net.minecraft.server.packs.PackLocationInfo;
+import net.minecraft.server.packs.PackResources;
+import net.minecraft.server.packs.PackType;
+import net.minecraft.server.packs.PathPackResources;
+import net.minecraft.server.packs.repository.Pack;
+import net.minecraft.server.packs.resources.IoSupplier;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+
+/**
+ * Pack resources of a mod jar, which answer resource lookups and listings from an index of the files of the jar
+ * instead of walking its file system, like {@link PathPackResources} does.
+ * <p>
+ * The index of each pack root is built on first use and reused by all packs opened from the same root,
+ * until the modification time of the jar changes.
+ */
+@ApiStatus.Internal
+public class ModFilePackResources extends AbstractPackResources {
+    private static final Logger LOGGER = LogUtils.getLogger();
+    private static final Joiner PATH_JOINER = Joiner.on('/');
+    private static final Map<Path, PackIndex> INDEXES = new ConcurrentHashMap<>();
+
+    private final Path root;
+    private final PackIndex index;
+
+    public ModFilePackResources(PackLocationInfo location, Path root, PackIndex index) {
+        super(location);
+        this.root = root;
+        this.index = index;
+    }
+
+    @Nullable
+    @Override
+    public IoSupplier<InputStream> getRootResource(String... elements) {
+        // Only used for a few files such as the pack metadata, which are not worth indexing
+        FileUtil.validatePath(elements);
+        Path path = FileUtil.resolvePath(this.root, List.of(elements));
+        return Files.exists(path) ? IoSupplier.create(path) : null;
+    }
+
+    @Nullable
+    @Override
+    public IoSupplier<InputStream> getResource(PackType type, ResourceLocation location) {
+        return FileUtil.decomposePath(location.getPath()).mapOrElse(segments -> {
+            // A valid path is equal to its joined segments
+            IndexedFile file = index.get(type).files(location.getNamespace()).get(location.getPath());
+            return file != null ? IoSupplier.create(file.path()) : null;
+        }, error -> {
+            LOGGER.error("Invalid path {}: {}", location, error.message());
+            return null;
+        });
+    }
+
+    @Override
+    public void listResources(PackType type, String namespace, String path, ResourceOutput resourceOutput) {
+        FileUtil.decomposePath(path).ifSuccess(segments -> {
+            NavigableMap<String, IndexedFile> files = index.get(type).files(namespace);
+            if (files.isEmpty()) {
+                return;
+            }
+            String directory = PATH_JOINER.join(segments);
+            // Like Files.find, a path pointing to a file lists the file itself
+            IndexedFile exact = files.get(directory);
+            if (exact != null) {
+                output(namespace, exact, resourceOutput);
+            }
+            // '0' directly follows '/', so this contains all paths starting with the directory and a separator
+            for (IndexedFile file : files.subMap(directory + '/', true, directory + '0', false).values()) {
+                output(namespace, file, resourceOutput);
+            }
+        }).ifError(error -> LOGGER.error("Invalid path {}: {}", path, error.message()));
+    }
+
+    private static void output(String namespace, IndexedFile file, ResourceOutput resourceOutput) {
+        if (file.location() == null) {
+            Util.logAndPauseIfInIde(String.format(Locale.ROOT, "Invalid path in pack: %s:%s, ignoring", namespace, file.relativePath()));
+        } else {
+            resourceOutput.accept(file.location(), IoSupplier.create(file.path()));
+        }
+    }
+
+    @Override
+    public Set<String> getNamespaces(PackType type) {
+        return index.get(type).namespaces();
+    }
+
+    @Override
+    public void close() {}
+
+    /**
+     * {@return the index of the given pack root, reusing the cached index if the jar has not been modified since it was built}
+     */
+    private static PackIndex getIndex(Path root, FileTime modified) {
+        PackIndex index = INDEXES.get(root);
+        if (index == null || !index.modified.equals(modified)) {
+            index = new PackIndex(root, modified);
+            INDEXES.put(root, index);
+        }
+        return index;
+    }
+
+    /**
+     * The files of a pack root, grouped by pack type and namespace and sorted by path.
+     * The files of each pack type are indexed on first use.
+     */
+    public static final class PackIndex {
+        private final Path root;
+        private final FileTime modified;
+        private final Map<PackType, TypeIndex> types = new EnumMap<>(PackType.class);
+
+        private PackIndex(Path root, FileTime modified) {
+            this.root = root;
+            this.modified = modified;
+        }
+
+        synchronized TypeIndex get(PackType type) {
+            TypeIndex index = types.get(type);
+            if (index == null) {
+                index = TypeIndex.build(root, root.resolve(type.getDirectory()));
+                types.put(type, index);
+            }
+            return index;
+        }
+    }
+
+    private record TypeIndex(Set<String> namespaces, Map<String, NavigableMap<String, IndexedFile>> filesByNamespace) {
+        private static final TypeIndex EMPTY = new TypeIndex(Set.of(), Map.of());
+
+        NavigableMap<String, IndexedFile> files(String namespace) {
+            return filesByNamespace.getOrDefault(namespace, Collections.emptyNavigableMap());
+        }
+
+        static TypeIndex build(Path root, Path typeDirectory) {
+            Set<String> namespaces = new HashSet<>();
+            Map<String, NavigableMap<String, IndexedFile>> filesByNamespace = new HashMap<>();
+            try (DirectoryStream<Path> stream = Files.newDirectoryStream(typeDirectory)) {
+                for (Path namespaceDirectory : stream) {
+                    String namespace = namespaceDirectory.getFileName().toString();
+                    if (!ResourceLocation.isValidNamespace(namespace)) {
+                        LOGGER.warn("Non [a-z0-9_.-] character in namespace {} in pack {}, ignoring", namespace, root);
+                        continue;
+                    }
+                    namespaces.add(namespace);
+                    NavigableMap<String, IndexedFile> files = indexFiles(namespace, namespaceDirectory);
+                    if (!files.isEmpty()) {
+                        filesByNamespace.put(namespace, files);
+                    }
+                }
+            } catch (NoSuchFileException | NotDirectoryException e) {
+                return EMPTY;
+            } catch (IOException e) {
+                LOGGER.error("Failed to list path {}", typeDirectory, e);
+                return EMPTY;
+            }
+            return new TypeIndex(Set.copyOf(namespaces), filesByNamespace);
+        }
+
+        private static NavigableMap<String, IndexedFile> indexFiles(String namespace, Path namespaceDirectory) throws IOException {
+            NavigableMap<String, IndexedFile> files = new TreeMap<>();
+            try (Stream<Path> stream = Files.find(namespaceDirectory, Integer.MAX_VALUE, (path, attributes) -> attributes.isRegularFile())) {
+                stream.forEach(path -> {
+                    String relativePath = PATH_JOINER.join(namespaceDirectory.relativize(path));
+                    files.put(relativePath, new IndexedFile(ResourceLocation.tryBuild(namespace, relativePath), relativePath, path));
+                });
+            } catch (NotDirectoryException | NoSuchFileException e) {
+                // Not a directory, so there are no resources in this namespace
+            }
+            return files;
+        }
+    }
+
+    /**
+     * @param location     the location of the file, or {@code null} if its path is not a valid resource location path
+     * @param relativePath the path of the file, relative to its namespace directory
+     * @param path         the file
+     */
+    private record IndexedFile(@Nullable ResourceLocation location, String relativePath, Path path) {}
+
+    /**
+     * Opens the contents of a mod jar as {@link ModFilePackResources}, or as {@link PathPackResources} if the
+     * modification time of the jar cannot be read.
+     */
+    public static class ModFileResourcesSupplier implements Pack.ResourcesSupplier {
+        private final Path file;
+        private final Path content;
+
+        /**
+         * @param file    the mod jar, whose modification time invalidates the cached indexes
+         * @param content the root of the contents of the mod jar
+         */
+        public ModFileResourcesSupplier(Path file, Path content) {
+            this.file = file;
+            this.content = content;
+        }
+
+        private PackResources open(PackLocationInfo location, Path root) {
+            FileTime modified;
+            try {
+                modified = Files.getLastModifiedTime(file);
+            } catch (IOException e) {
+                LOGGER.warn("Failed to read the modification time of {}, its resources will not be indexed", file, e);
+                return new PathPackResources(location, root);
+            }
+            return new ModFilePackResources(location, root, getIndex(root, modified));
+        }
+
+        @Override
+        public PackResources openPrimary(PackLocationInfo location) {
+            return open(location, content);
+        }
+
+        @Override
+        public PackResources openFull(PackLocationInfo location, Pack.Metadata metadata) {
+            PackResources primary = openPrimary(location);
+            List<String> overlays = metadata.overlays();
+            if (overlays.isEmpty()) {
+                return primary;
+            }
+            List<PackResources> overlayResources = new ArrayList<>(overlays.size());
+            for (String overlay : overlays) {
+                overlayResources.add(open(location, content.resolve(overlay)));
+            }
+            return new CompositePackResources(primary, overlayResources);
+        }
+    }
+}
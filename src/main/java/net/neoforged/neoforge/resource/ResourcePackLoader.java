@@ -10,6 +10,8 @@ import com.mojang.datafixers.util.Pair;
 import com.mojang.serialization.Codec;
 import com.mojang.serialization.codecs.RecordCodecBuilder;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.LinkedHashMap;
@@ -205,7 +207,12 @@ public class ResourcePackLoader {
     }
 
     public static Pack.ResourcesSupplier createPackForMod(IModFileInfo mf) {
-        return new PathPackResources.PathResourcesSupplier(mf.getFile().getSecureJar().getRootPath());
+        Path root = mf.getFile().getSecureJar().getRootPath();
+        // Mods loaded from directories may change while the game is running, so only jars are indexed
+        if (Files.isRegularFile(mf.getFile().getFilePath())) {
+            return new ModFilePackResources.ModFileResourcesSupplier(mf.getFile().getFilePath(), root);
+        }
+        return new PathPackResources.PathResourcesSupplier(root);
     }
 
     public static List<String> getPackNames(PackType packType) {
@@ -47,6 +47,7 @@ import net.neoforged.neoforge.event.server.ServerStoppedEvent;
 import net.neoforged.neoforge.event.server.ServerStoppingEvent;
 import net.neoforged.neoforge.gametest.GameTestHooks;
 import net.neoforged.neoforge.mixins.MappedRegistryAccessor;
+import net.neoforged.neoforge.network.ConfigSync;
 import net.neoforged.neoforge.registries.NeoForgeRegistries;
 import net.neoforged.neoforge.registries.NeoForgeRegistries.Keys;
 import net.neoforged.neoforge.registries.RegistryManager;
@@ -95,6 +96,8 @@ public class ServerLifecycleHooks {
         // on the dedi server we need to force the stuff to setup properly
         LogicalSidedProvider.setServer(() -> server);
         ConfigTracker.INSTANCE.loadConfigs(ModConfig.Type.SERVER, FMLPaths.CONFIGDIR.get(), getServerConfigPath(server));
+        ConfigSync.invalidateCache();
+        ConfigSync.clearAppliedConfigs();
         runModifiers(server);
         NeoForge.EVENT_BUS.post(new ServerAboutToStartEvent(server));
     }
@@ -134,6 +137,8 @@ public class ServerLifecycleHooks {
             exitLatch = null;
         }
         ConfigTracker.INSTANCE.unloadConfigs(ModConfig.Type.SERVER);
+        ConfigSync.invalidateCache();
+        ConfigSync.clearAppliedConfigs();
     }
 
     @Nullable
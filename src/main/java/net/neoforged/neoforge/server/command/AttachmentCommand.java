@@ -0,0 +1,48 @@
+/*
+ * Copyright (c) NeoForged and contributors
+ * SPDX-License-Identifier: LGPL-2.1-only
+ */
+
+package net.neoforged.neoforge.server.command;
+
+import com.mojang.brigadier.Command;
+import com.mojang.brigadier.builder.ArgumentBuilder;
+import java.text.DecimalFormat;
+import net.minecraft.commands.CommandSourceStack;
+import net.minecraft.commands.Commands;
+import net.minecraft.network.chat.Component;
+import net.minecraft.util.TimeUtil;
+import net.neoforged.neoforge.attachment.AttachmentInternals;
+
+/**
+ * The {@code /neoforge attachments timings} command for reporting the time spent loading and promoting chunk attachments.
+ */
+class AttachmentCommand {
+    private static final DecimalFormat TIME_FORMATTER = new DecimalFormat("########0.000");
+
+    static ArgumentBuilder<CommandSourceStack, ?> register() {
+        return Commands.literal("attachments")
+                .requires(cs -> cs.hasPermission(Commands.LEVEL_GAMEMASTERS))
+                .then(Commands.literal("timings")
+                        .then(Commands.literal("reset")
+                                .executes(context -> {
+                                    AttachmentInternals.getChunkDecodeTimings().reset();
+                                    AttachmentInternals.getChunkPromotionTimings().reset();
+                                    context.getSource().sendSuccess(() -> Component.translatable("commands.neoforge.attachments.timings.reset"), true);
+                                    return Command.SINGLE_SUCCESS;
+                                }))
+                        .executes(context -> {
+                            var source = context.getSource();
+                            source.sendSuccess(() -> createComponent("commands.neoforge.attachments.timings.decode", AttachmentInternals.getChunkDecodeTimings()), false);
+                            source.sendSuccess(() -> createComponent("commands.neoforge.attachments.timings.promotion", AttachmentInternals.getChunkPromotionTimings()), false);
+                            return Command.SINGLE_SUCCESS;
+                        }));
+    }
+
+    private static Component createComponent(String key, AttachmentInternals.Timings timings) {
+        long count = timings.count();
+        double totalMillis = (double) timings.totalNanos() / TimeUtil.NANOSECONDS_PER_MILLISECOND;
+        double meanMillis = count == 0 ? 0 : totalMillis / count;
+        return Component.translatable(key, count, TIME_FORMATTER.format(totalMillis), TIME_FORMATTER.format(meanMillis));
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright (c) NeoForged and contributors
+ * SPDX-License-Identifier: LGPL-2.1-only
+ */
+
+package net.neoforged.neoforge.server.command;
+
+import com.mojang.brigadier.Command;
+import com.mojang.brigadier.builder.ArgumentBuilder;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import java.util.Set;
+import java.util.TreeSet;
+import net.minecraft.ChatFormatting;
+import net.minecraft.commands.CommandSourceStack;
+import net.minecraft.commands.Commands;
+import net.minecraft.commands.arguments.DimensionArgument;
+import net.minecraft.network.chat.Component;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.ForcedChunksSavedData;
+import net.neoforged.neoforge.common.world.chunk.ForcedChunkManager;
+
+/**
+ * The {@code /neoforge forced_chunks [dimension]} command for reporting the chunks forced by each ticket controller.
+ */
+class ForcedChunksCommand {
+    static ArgumentBuilder<CommandSourceStack, ?> register() {
+        return Commands.literal("forced_chunks")
+                .requires(cs -> cs.hasPermission(Commands.LEVEL_GAMEMASTERS))
+                .then(Commands.argument("dimension", DimensionArgument.dimension())
+                        .executes(ctx -> report(ctx.getSource(), DimensionArgument.getDimension(ctx, "dimension"))))
+                .executes(ctx -> {
+                    for (ServerLevel level : ctx.getSource().getServer().getAllLevels()) {
+                        report(ctx.getSource(), level);
+                    }
+                    return Command.SINGLE_SUCCESS;
+                });
+    }
+
+    private static int report(CommandSourceStack source, ServerLevel level) {
+        ForcedChunksSavedData data = ForcedChunkManager.getSavedData(level);
+        int vanillaChunks = data == null ? 0 : data.getChunks().size();
+        source.sendSuccess(() -> Component.translatable("commands.neoforge.forced_chunks.dimension", level.getDescription(), vanillaChunks).withStyle(ChatFormatting.GREEN), false);
+        if (data == null) {
+            return Command.SINGLE_SUCCESS;
+        }
+
+        var blockTickets = data.getBlockForcedChunks();
+        var entityTickets = data.getEntityForcedChunks();
+        Set<ResourceLocation> controllers = new TreeSet<>(blockTickets.getControllers());
+        controllers.addAll(entityTickets.getControllers());
+        for (ResourceLocation controller : controllers) {
+            // A chunk may be forced by both block and entity owners of the same controller
+            var chunks = new LongOpenHashSet(blockTickets.getForcedChunks(controller));
+            chunks.addAll(entityTickets.getForcedChunks(controller));
+            int tickets = blockTickets.getTicketCount(controller) + entityTickets.getTicketCount(controller);
+            source.sendSuccess(() -> Component.translatable("commands.neoforge.forced_chunks.controller", controller.toString(), chunks.size(), tickets), false);
+        }
+        return Command.SINGLE_SUCCESS;
+    }
+}
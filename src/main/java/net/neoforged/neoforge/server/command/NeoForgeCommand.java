@@ -24,6 +24,9 @@ public class NeoForgeCommand {
                         .then(TagsCommand.register())
                         .then(DumpCommand.register())
                         .then(TimeSpeedCommand.register())
-                        .then(DataComponentCommand.register()));
+                        .then(DataComponentCommand.register())
+                        .then(AttachmentCommand.register())
+                        .then(ForcedChunksCommand.register())
+                        .then(PermissionsCommand.register()));
     }
 }
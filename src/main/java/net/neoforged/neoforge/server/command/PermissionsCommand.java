@@ -0,0 +1,54 @@
+/*
+ * Copyright (c) NeoForged and contributors
+ * SPDX-License-Identifier: LGPL-2.1-only
+ */
+
+package net.neoforged.neoforge.server.command;
+
+import com.mojang.brigadier.Command;
+import com.mojang.brigadier.builder.ArgumentBuilder;
+import java.util.Objects;
+import net.minecraft.ChatFormatting;
+import net.minecraft.commands.CommandSourceStack;
+import net.minecraft.commands.Commands;
+import net.minecraft.network.chat.Component;
+import net.neoforged.neoforge.server.permission.PermissionAPI;
+import net.neoforged.neoforge.server.permission.PermissionCache;
+
+/**
+ * The {@code /neoforge permissions} command for reporting the permission cache statistics,
+ * with {@code reset} to reset the counters and {@code invalidate} to discard all cached results.
+ */
+class PermissionsCommand {
+    static ArgumentBuilder<CommandSourceStack, ?> register() {
+        return Commands.literal("permissions")
+                .requires(cs -> cs.hasPermission(Commands.LEVEL_GAMEMASTERS))
+                .then(Commands.literal("reset")
+                        .executes(ctx -> {
+                            PermissionCache.resetStats();
+                            ctx.getSource().sendSuccess(() -> Component.translatable("commands.neoforge.permissions.reset"), true);
+                            return Command.SINGLE_SUCCESS;
+                        }))
+                .then(Commands.literal("invalidate")
+                        .executes(ctx -> {
+                            PermissionAPI.invalidateAll();
+                            ctx.getSource().sendSuccess(() -> Component.translatable("commands.neoforge.permissions.invalidated"), true);
+                            return Command.SINGLE_SUCCESS;
+                        }))
+                .executes(ctx -> report(ctx.getSource()));
+    }
+
+    private static int report(CommandSourceStack source) {
+        var stats = PermissionCache.getStats();
+        String handler = Objects.toString(PermissionAPI.getActivePermissionHandler());
+        if (!stats.enabled()) {
+            source.sendSuccess(() -> Component.translatable("commands.neoforge.permissions.disabled", handler).withStyle(ChatFormatting.YELLOW), false);
+            return Command.SINGLE_SUCCESS;
+        }
+        String hitRate = String.format("%.1f", stats.hitRate() * 100);
+        source.sendSuccess(() -> Component.translatable("commands.neoforge.permissions.handler", handler).withStyle(ChatFormatting.GREEN), false);
+        source.sendSuccess(() -> Component.translatable("commands.neoforge.permissions.stats", stats.hits(), stats.misses(), hitRate), false);
+        source.sendSuccess(() -> Component.translatable("commands.neoforge.permissions.entries", stats.entries(), stats.players()), false);
+        return Command.SINGLE_SUCCESS;
+    }
+}
@@ -9,6 +9,7 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import net.minecraft.ResourceLocationException;
 import net.minecraft.resources.ResourceLocation;
 import net.minecraft.server.level.ServerPlayer;
@@ -60,7 +61,8 @@ public final class PermissionAPI {
      */
     public static <T> T getPermission(ServerPlayer player, PermissionNode<T> node, PermissionDynamicContext<?>... context) {
         if (!activeHandler.getRegisteredNodes().contains(node)) throw new UnregisteredPermissionException(node);
-        return activeHandler.getPermission(player, node, context);
+        IPermissionHandler handler = activeHandler;
+        return PermissionCache.get(player.getUUID(), true, node, context, () -> handler.getPermission(player, node, context));
     }
 
     /**
@@ -77,7 +79,60 @@ public final class PermissionAPI {
      */
     public static <T> T getOfflinePermission(UUID player, PermissionNode<T> node, PermissionDynamicContext<?>... context) {
         if (!activeHandler.getRegisteredNodes().contains(node)) throw new UnregisteredPermissionException(node);
-        return activeHandler.getOfflinePermission(player, node, context);
+        IPermissionHandler handler = activeHandler;
+        return PermissionCache.get(player, false, node, context, () -> handler.getOfflinePermission(player, node, context));
+    }
+
+    /**
+     * Asynchronous variant of {@link PermissionAPI#getOfflinePermission(UUID, PermissionNode, PermissionDynamicContext[])},
+     * for handlers that need to load the permissions of offline players from external storage.
+     *
+     * @param player  offline player for which you want to check permissions
+     * @param node    the PermissionNode for which you want to query
+     * @param context optional array of PermissionDynamicContext, single entries will be ignored if they weren't
+     *                registered to the node
+     * @param <T>     type of the queried PermissionNode
+     * @return a future completed with the value of type {@code <T>}, that the combination of Player and PermissionNode map to
+     * @throws UnregisteredPermissionException when the PermissionNode wasn't registered properly
+     */
+    public static <T> CompletableFuture<T> getOfflinePermissionAsync(UUID player, PermissionNode<T> node, PermissionDynamicContext<?>... context) {
+        if (!activeHandler.getRegisteredNodes().contains(node)) throw new UnregisteredPermissionException(node);
+        T cached = PermissionCache.getIfPresent(player, false, node, context);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
+        long generation = PermissionCache.generation();
+        return activeHandler.getOfflinePermissionAsync(player, node, context).thenApply(value -> {
+            PermissionCache.put(player, false, node, context, value, generation);
+            return value;
+        });
+    }
+
+    /**
+     * Discards the cached permission results of the given player.
+     * <p>Permission handlers that {@linkplain IPermissionHandler#canCacheResults() allow caching} must call this
+     * when the permissions of a player change.</p>
+     *
+     * @param player the player whose permissions changed
+     */
+    public static void invalidate(UUID player) {
+        PermissionCache.invalidate(player);
+    }
+
+    /**
+     * Discards the cached results of the given permission node for all players.
+     *
+     * @param node the node whose resolved values changed
+     */
+    public static void invalidate(PermissionNode<?> node) {
+        PermissionCache.invalidate(node);
+    }
+
+    /**
+     * Discards all cached permission results, for example after the permission handler reloaded its configuration.
+     */
+    public static void invalidateAll() {
+        PermissionCache.invalidateAll();
     }
 
     /**
@@ -92,6 +147,7 @@ public final class PermissionAPI {
         }
 
         PermissionAPI.activeHandler = null;
+        PermissionCache.setEnabled(false);
 
         PermissionGatherEvent.Handler handlerEvent = new PermissionGatherEvent.Handler();
         NeoForge.EVENT_BUS.post(handlerEvent);
@@ -110,6 +166,7 @@ public final class PermissionAPI {
             NeoForge.EVENT_BUS.post(nodesEvent);
 
             PermissionAPI.activeHandler = factory.create(nodesEvent.getNodes());
+            PermissionCache.setEnabled(activeHandler.canCacheResults());
 
             if (!selectedPermissionHandler.equals(activeHandler.getIdentifier()))
                 LOGGER.warn("Identifier for permission handler {} does not match registered one {}", activeHandler.getIdentifier(), selectedPermissionHandler);
@@ -0,0 +1,176 @@
+/*
+ * Copyright (c) NeoForged and contributors
+ * SPDX-License-Identifier: LGPL-2.1-only
+ */
+
+package net.neoforged.neoforge.server.permission;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import net.neoforged.bus.api.SubscribeEvent;
+import net.neoforged.fml.common.EventBusSubscriber;
+import net.neoforged.neoforge.event.entity.player.PlayerEvent;
+import net.neoforged.neoforge.internal.versions.neoforge.NeoForgeVersion;
+import net.neoforged.neoforge.server.permission.handler.IPermissionHandler;
+import net.neoforged.neoforge.server.permission.nodes.PermissionDynamicContext;
+import net.neoforged.neoforge.server.permission.nodes.PermissionNode;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Memoizes the results of permission queries per player, node and dynamic contexts.
+ * Results of online and offline queries are cached separately, as handlers may resolve them differently.
+ * <p>
+ * Results are only cached if the active handler {@linkplain IPermissionHandler#canCacheResults() allows it}.
+ * Such handlers must invalidate the cache using {@link PermissionAPI#invalidate(UUID)}, {@link PermissionAPI#invalidate(PermissionNode)}
+ * or {@link PermissionAPI#invalidateAll()} when the permissions they resolve change.
+ */
+@ApiStatus.Internal
+@EventBusSubscriber(modid = NeoForgeVersion.MOD_ID)
+public final class PermissionCache {
+    /**
+     * The maximum number of cached results per player, as dynamic contexts may have an unbounded number of values.
+     * When exceeded, the cached results of the player are discarded.
+     */
+    private static final int MAX_ENTRIES_PER_PLAYER = 1024;
+
+    private static final Map<UUID, Map<Object, Object>> CACHE = new ConcurrentHashMap<>();
+    private static final LongAdder HITS = new LongAdder();
+    private static final LongAdder MISSES = new LongAdder();
+    // Incremented by every invalidation, so that results resolved before an invalidation are not cached after it
+    private static final AtomicLong GENERATION = new AtomicLong();
+    private static volatile boolean enabled;
+
+    private PermissionCache() {}
+
+    static void setEnabled(boolean enabled) {
+        PermissionCache.enabled = enabled;
+        invalidateAll();
+    }
+
+    static <T> T get(UUID player, boolean online, PermissionNode<T> node, PermissionDynamicContext<?>[] context, Supplier<T> resolver) {
+        if (!enabled) {
+            return resolver.get();
+        }
+        T cached = getIfPresent(player, online, node, context);
+        if (cached != null) {
+            return cached;
+        }
+        long generation = generation();
+        T value = resolver.get();
+        put(player, online, node, context, value, generation);
+        return value;
+    }
+
+    /**
+     * {@return the current generation of the cache, to be passed to {@link #put} for results resolved afterwards}
+     */
+    static long generation() {
+        return GENERATION.get();
+    }
+
+    /**
+     * {@return the cached result of the query, or {@code null} if caching is disabled or the result is not cached}
+     */
+    @Nullable
+    @SuppressWarnings("unchecked")
+    static <T> T getIfPresent(UUID player, boolean online, PermissionNode<T> node, PermissionDynamicContext<?>[] context) {
+        if (!enabled) {
+            return null;
+        }
+        Map<Object, Object> results = CACHE.get(player);
+        Object result = results == null ? null : results.get(key(online, node, context));
+        if (result != null) {
+            HITS.increment();
+        } else {
+            MISSES.increment();
+        }
+        return (T) result;
+    }
+
+    /**
+     * Caches a result, unless the cache was invalidated since the given {@linkplain #generation() generation}.
+     */
+    static <T> void put(UUID player, boolean online, PermissionNode<T> node, PermissionDynamicContext<?>[] context, @Nullable T value, long generation) {
+        if (!enabled || value == null || GENERATION.get() != generation) {
+            return;
+        }
+        Map<Object, Object> results = CACHE.computeIfAbsent(player, p -> new ConcurrentHashMap<>());
+        if (results.size() >= MAX_ENTRIES_PER_PLAYER) {
+            results.clear();
+        }
+        Object key = key(online, node, context);
+        results.put(key, value);
+        if (GENERATION.get() != generation) {
+            // An invalidation ran concurrently and may have missed the result
+            results.remove(key, value);
+        }
+    }
+
+    private static Object key(boolean online, PermissionNode<?> node, PermissionDynamicContext<?>[] context) {
+        // Avoid allocating a key for the common online query without contexts
+        return online && context.length == 0 ? node : new ContextKey(online, node, List.of(context));
+    }
+
+    static void invalidate(UUID player) {
+        GENERATION.incrementAndGet();
+        CACHE.remove(player);
+    }
+
+    static void invalidate(PermissionNode<?> node) {
+        GENERATION.incrementAndGet();
+        for (Map<Object, Object> results : CACHE.values()) {
+            results.keySet().removeIf(key -> node.equals(key) || key instanceof ContextKey contextKey && node.equals(contextKey.node()));
+        }
+    }
+
+    static void invalidateAll() {
+        GENERATION.incrementAndGet();
+        CACHE.clear();
+    }
+
+    /**
+     * {@return the current cache statistics}
+     */
+    public static Stats getStats() {
+        int entries = 0;
+        for (Map<Object, Object> results : CACHE.values()) {
+            entries += results.size();
+        }
+        return new Stats(enabled, HITS.sum(), MISSES.sum(), CACHE.size(), entries);
+    }
+
+    /**
+     * Resets the hit and miss counters.
+     */
+    public static void resetStats() {
+        HITS.reset();
+        MISSES.reset();
+    }
+
+    @SubscribeEvent
+    public static void onPlayerLoggedOut(PlayerEvent.PlayerLoggedOutEvent event) {
+        invalidate(event.getEntity().getUUID());
+    }
+
+    /**
+     * @param enabled whether the active permission handler allows caching
+     * @param hits    the number of queries answered from the cache
+     * @param misses  the number of queries forwarded to the permission handler while caching was enabled
+     * @param players the number of players with cached results
+     * @param entries the total number of cached results
+     */
+    public record Stats(boolean enabled, long hits, long misses, int players, int entries) {
+        public double hitRate() {
+            long total = hits + misses;
+            return total == 0 ? 0 : (double) hits / total;
+        }
+    }
+
+    private record ContextKey(boolean online, PermissionNode<?> node, List<PermissionDynamicContext<?>> context) {}
+}
@@ -7,6 +7,7 @@ package net.neoforged.neoforge.server.permission.handler;
 
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import net.minecraft.resources.ResourceLocation;
 import net.minecraft.server.level.ServerPlayer;
 import net.neoforged.neoforge.server.permission.PermissionAPI;
@@ -61,4 +62,27 @@ public interface IPermissionHandler {
      * @return a value of type {@code <T>}, that the combination of Player and PermissionNode map to.
      */
     <T> T getOfflinePermission(UUID player, PermissionNode<T> node, PermissionDynamicContext<?>... context);
+
+    /**
+     * <strong>Mods must use {@link PermissionAPI#getOfflinePermissionAsync(UUID, PermissionNode, PermissionDynamicContext[])}</strong>
+     *
+     * <p>Asynchronous variant of {@link IPermissionHandler#getOfflinePermission(UUID, PermissionNode, PermissionDynamicContext[])}.
+     * Handlers that load offline permissions from external storage should override this to avoid blocking the caller.</p>
+     *
+     * @implNote The default implementation resolves the permission on the calling thread, as handlers are not required to be thread-safe.
+     */
+    default <T> CompletableFuture<T> getOfflinePermissionAsync(UUID player, PermissionNode<T> node, PermissionDynamicContext<?>... context) {
+        return CompletableFuture.completedFuture(getOfflinePermission(player, node, context));
+    }
+
+    /**
+     * Whether the results of permission queries may be cached by the {@link PermissionAPI}.
+     *
+     * <p>Handlers returning {@code true} <strong>must</strong> call {@link PermissionAPI#invalidate(UUID)},
+     * {@link PermissionAPI#invalidate(PermissionNode)} or {@link PermissionAPI#invalidateAll()} whenever the permissions
+     * they resolve change. The default resolvers of nodes may depend on arbitrary player state, so this defaults to {@code false}.</p>
+     */
+    default boolean canCacheResults() {
+        return false;
+    }
 }
@@ -0,0 +1,68 @@
+/*
+ * Copyright (c) NeoForged and contributors
+ * SPDX-License-Identifier: LGPL-2.1-only
+ */
+
+package net.neoforged.neoforge.unittest;
+
+import java.util.ArrayList;
+import java.util.List;
+import net.minecraft.core.BlockPos;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.world.level.block.Block;
+import net.neoforged.neoforge.common.util.BlockSnapshot;
+import net.neoforged.neoforge.common.util.CapturedBlockSnapshots;
+import net.neoforged.testframework.junit.EphemeralTestServerProvider;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+@ExtendWith(EphemeralTestServerProvider.class)
+public class CapturedBlockSnapshotsTest {
+    private static final BlockPos ORIGIN = new BlockPos(0, 300, 0);
+
+    private static BlockPos pos(int index) {
+        return ORIGIN.offset(index & 15, index >> 8, (index >> 4) & 15);
+    }
+
+    @Test
+    void capturesFirstSnapshotOfEachPosition(MinecraftServer server) {
+        var level = server.overworld();
+        var snapshots = new CapturedBlockSnapshots();
+        BlockSnapshot first = snapshots.capture(level, ORIGIN, Block.UPDATE_ALL);
+        Assertions.assertThat(first).isNotNull();
+        Assertions.assertThat(snapshots.capture(level, ORIGIN, Block.UPDATE_CLIENTS)).isNull();
+        BlockSnapshot second = snapshots.capture(level, ORIGIN.above(), Block.UPDATE_CLIENTS);
+        Assertions.assertThat(snapshots.size()).isEqualTo(2);
+
+        Assertions.assertThat(snapshots.drain()).containsExactly(first, second);
+        Assertions.assertThat(snapshots.isEmpty()).isTrue();
+        // Draining forgets the captured positions
+        Assertions.assertThat(snapshots.capture(level, ORIGIN, Block.UPDATE_ALL)).isNotNull();
+    }
+
+    @Test
+    void removesSnapshotsOfFailedChanges(MinecraftServer server) {
+        var level = server.overworld();
+        var snapshots = new CapturedBlockSnapshots();
+        List<BlockSnapshot> expected = new ArrayList<>();
+        // Captures many positions of one chunk, removing every third one, like block changes that failed
+        for (int i = 0; i < 3000; i++) {
+            BlockSnapshot snapshot = snapshots.capture(level, pos(i), Block.UPDATE_ALL);
+            if (i % 3 == 0) {
+                Assertions.assertThat(snapshots.remove(snapshot)).isTrue();
+            } else {
+                expected.add(snapshot);
+            }
+        }
+        // Removes a snapshot that is not the last one captured
+        BlockSnapshot removed = expected.remove(10);
+        Assertions.assertThat(snapshots.remove(removed)).isTrue();
+        Assertions.assertThat(snapshots.remove(removed)).isFalse();
+        // Snapshots are only removed if they are the one captured at their position
+        Assertions.assertThat(snapshots.remove(BlockSnapshot.create(level.dimension(), level, pos(1)))).isFalse();
+
+        Assertions.assertThat(snapshots.size()).isEqualTo(expected.size());
+        Assertions.assertThat(snapshots.drain()).containsExactlyElementsOf(expected);
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) NeoForged and contributors
+ * SPDX-License-Identifier: LGPL-2.1-only
+ */
+
+package net.neoforged.neoforge.unittest;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParser;
+import com.mojang.serialization.Codec;
+import com.mojang.serialization.DataResult;
+import com.mojang.serialization.DynamicOps;
+import com.mojang.serialization.JsonOps;
+import com.mojang.serialization.MapCodec;
+import com.mojang.serialization.MapLike;
+import com.mojang.serialization.RecordBuilder;
+import com.mojang.serialization.codecs.RecordCodecBuilder;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import net.minecraft.resources.RegistryOps;
+import net.minecraft.server.MinecraftServer;
+import net.neoforged.neoforge.common.conditions.ConditionalOps;
+import net.neoforged.neoforge.common.conditions.ICondition;
+import net.neoforged.testframework.junit.EphemeralTestServerProvider;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+@ExtendWith(EphemeralTestServerProvider.class)
+public class ConditionalOpsTest {
+    private record Entry(String name, int count) {
+        static final Codec<Entry> CODEC = RecordCodecBuilder.create(instance -> instance.group(
+                Codec.STRING.fieldOf("name").forGetter(Entry::name),
+                Codec.INT.fieldOf("count").forGetter(Entry::count)).apply(instance, Entry::new));
+    }
+
+    /**
+     * Decodes the keys of a map, to check which keys the view passed to map codecs exposes.
+     */
+    private static final MapCodec<Set<String>> KEYS = new MapCodec<>() {
+        @Override
+        public <T> Stream<T> keys(DynamicOps<T> ops) {
+            return Stream.empty();
+        }
+
+        @Override
+        public <T> DataResult<Set<String>> decode(DynamicOps<T> ops, MapLike<T> input) {
+            return DataResult.success(input.entries().map(pair -> ops.getStringValue(pair.getFirst()).getOrThrow()).collect(Collectors.toSet()));
+        }
+
+        @Override
+        public <T> RecordBuilder<T> encode(Set<String> input, DynamicOps<T> ops, RecordBuilder<T> prefix) {
+            return prefix;
+        }
+    };
+
+    private static ConditionalOps<JsonElement> ops(MinecraftServer server, boolean cached) {
+        var ops = new ConditionalOps<>(RegistryOps.create(JsonOps.INSTANCE, server.registryAccess()), ICondition.IContext.EMPTY);
+        return cached ? ops.withConditionCache() : ops;
+    }
+
+    private static <T> Optional<T> decode(Codec<T> codec, ConditionalOps<JsonElement> ops, String json) {
+        return ConditionalOps.createConditionalCodec(codec).parse(ops, JsonParser.parseString(json)).getOrThrow();
+    }
+
+    @ParameterizedTest
+    @CsvSource({ "false", "true" })
+    void recordCodecDecodesWithoutConditionsKey(boolean cached, MinecraftServer server) {
+        var ops = ops(server, cached);
+        var json = """
+                {"neoforge:conditions": [{"type": "neoforge:always"}], "name": "a", "count": 2}""";
+        var expected = Entry.CODEC.parse(ops, JsonParser.parseString("""
+                {"name": "a", "count": 2}""")).getOrThrow();
+
+        // Decoded twice, so that the second decode uses the cached conditions
+        Assertions.assertThat(decode(Entry.CODEC, ops, json)).contains(expected);
+        Assertions.assertThat(decode(Entry.CODEC, ops, json)).contains(expected);
+    }
+
+    @ParameterizedTest
+    @CsvSource({ "false", "true" })
+    void mapCodecDoesNotSeeConditionsKey(boolean cached, MinecraftServer server) {
+        var json = """
+                {"neoforge:conditions": [{"type": "neoforge:always"}], "a": 1, "b": 2}""";
+        Assertions.assertThat(decode(KEYS.codec(), ops(server, cached), json)).contains(Set.of("a", "b"));
+    }
+
+    @ParameterizedTest
+    @CsvSource({ "false", "true" })
+    void nonMapCodecDecodesCopyWithoutConditionsKey(boolean cached, MinecraftServer server) {
+        var json = """
+                {"neoforge:conditions": [{"type": "neoforge:always"}], "a": 1, "b": 2}""";
+        Assertions.assertThat(decode(Codec.unboundedMap(Codec.STRING, Codec.INT), ops(server, cached), json)).contains(Map.of("a", 1, "b", 2));
+    }
+
+    @ParameterizedTest
+    @CsvSource({ "false", "true" })
+    void valueKeyIsDecoded(boolean cached, MinecraftServer server) {
+        var json = """
+                {"neoforge:conditions": [{"type": "neoforge:always"}], "neoforge:value": 5}""";
+        Assertions.assertThat(decode(Codec.INT, ops(server, cached), json)).contains(5);
+    }
+
+    @ParameterizedTest
+    @CsvSource({ "false", "true" })
+    void failedConditionsDecodeToEmpty(boolean cached, MinecraftServer server) {
+        var ops = ops(server, cached);
+        var json = """
+                {"neoforge:conditions": [{"type": "neoforge:always"}, {"type": "neoforge:never"}], "name": "a", "count": 2}""";
+        Assertions.assertThat(decode(Entry.CODEC, ops, json)).isEmpty();
+        Assertions.assertThat(decode(Entry.CODEC, ops, json)).isEmpty();
+    }
+
+    @ParameterizedTest
+    @CsvSource({ "false", "true" })
+    void decodesManyEntriesSharingConditions(boolean cached, MinecraftServer server) {
+        // Like a large pack, where most entries share a few conditions
+        var ops = ops(server, cached);
+        var codec = ConditionalOps.createConditionalCodec(Entry.CODEC);
+        int decoded = 0;
+        for (int i = 0; i < 50_000; i++) {
+            var condition = i % 10 == 0 ? "neoforge:never" : "neoforge:always";
+            var json = JsonParser.parseString("{\"neoforge:conditions\": [{\"type\": \"" + condition + "\"}], \"name\": \"entry\", \"count\": " + i + "}");
+            var entry = codec.parse(ops, json).getOrThrow();
+            if (entry.isPresent()) {
+                Assertions.assertThat(entry.get().count()).isEqualTo(i);
+                decoded++;
+            }
+        }
+        Assertions.assertThat(decoded).isEqualTo(45_000);
+    }
+}
@@ -0,0 +1,192 @@
+/*
+ * Copyright (c) NeoForged and contributors
+ * SPDX-License-Identifier: LGPL-2.1-only
+ */
+
+package net.neoforged.neoforge.unittest;
+
+import com.sun.management.ThreadMXBean;
+import it.unimi.dsi.fastutil.objects.Object2DoubleArrayMap;
+import it.unimi.dsi.fastutil.objects.Object2DoubleMap;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.world.entity.Entity;
+import net.minecraft.world.entity.EntitySpawnReason;
+import net.minecraft.world.entity.EntityType;
+import net.minecraft.world.phys.Vec3;
+import net.neoforged.fml.util.ObfuscationReflectionHelper;
+import net.neoforged.neoforge.common.NeoForgeMod;
+import net.neoforged.neoforge.fluids.FluidType;
+import net.neoforged.neoforge.fluids.FluidTypeHeights;
+import net.neoforged.testframework.junit.EphemeralTestServerProvider;
+import org.assertj.core.api.Assertions;
+import org.assertj.core.api.Assumptions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+/**
+ * Tests that {@link FluidTypeHeights} behaves like the {@link Object2DoubleArrayMap} that entities previously stored their fluid heights in.
+ */
+@ExtendWith(EphemeralTestServerProvider.class)
+public class FluidTypeHeightsTest {
+    private static void put(FluidTypeHeights heights, Object2DoubleMap<FluidType> expected, FluidType type, double height) {
+        heights.put(type, height);
+        expected.put(type, height);
+    }
+
+    private static void assertSameEntries(FluidTypeHeights heights, Object2DoubleMap<FluidType> expected) {
+        List<Map.Entry<FluidType, Double>> actual = new ArrayList<>();
+        for (int i = 0; i < heights.size(); i++) {
+            actual.add(Map.entry(heights.type(i), heights.height(i)));
+        }
+        Assertions.assertThat(actual).containsExactlyElementsOf(expected.object2DoubleEntrySet().stream()
+                .map(e -> Map.entry(e.getKey(), e.getDoubleValue()))
+                .toList());
+        for (FluidType type : expected.keySet()) {
+            Assertions.assertThat(heights.get(type)).isEqualTo(expected.getDouble(type));
+        }
+    }
+
+    @Test
+    void keepsInsertionOrderAndZeroHeights(MinecraftServer server) {
+        var heights = new FluidTypeHeights();
+        var expected = new Object2DoubleArrayMap<FluidType>();
+        put(heights, expected, NeoForgeMod.LAVA_TYPE.value(), 0.5);
+        put(heights, expected, NeoForgeMod.WATER_TYPE.value(), 0);
+        put(heights, expected, NeoForgeMod.EMPTY_TYPE.value(), 0.25);
+        put(heights, expected, NeoForgeMod.LAVA_TYPE.value(), 0.75);
+        assertSameEntries(heights, expected);
+        Assertions.assertThat(heights.isEmpty()).isFalse();
+
+        heights.clear();
+        expected.clear();
+        Assertions.assertThat(heights.isEmpty()).isTrue();
+        Assertions.assertThat(heights.get(NeoForgeMod.LAVA_TYPE.value())).isZero();
+
+        put(heights, expected, NeoForgeMod.WATER_TYPE.value(), 0.1);
+        put(heights, expected, NeoForgeMod.LAVA_TYPE.value(), 0);
+        assertSameEntries(heights, expected);
+    }
+
+    @Test
+    void entityQueriesMatchMapSemantics(MinecraftServer server) {
+        Entity entity = EntityType.MARKER.create(server.overworld(), EntitySpawnReason.COMMAND);
+        FluidTypeHeights heights = ObfuscationReflectionHelper.getPrivateValue(Entity.class, entity, "forgeFluidTypeHeight");
+        var expected = new Object2DoubleArrayMap<FluidType>();
+        FluidType water = NeoForgeMod.WATER_TYPE.value();
+        FluidType lava = NeoForgeMod.LAVA_TYPE.value();
+
+        Assertions.assertThat(entity.getMaxHeightFluidType()).isSameAs(NeoForgeMod.EMPTY_TYPE.value());
+        Assertions.assertThat(entity.isInFluidType((type, height) -> true, true)).isFalse();
+
+        // Equal heights, where the first inserted fluid type wins the tie
+        put(heights, expected, water, 0.5);
+        put(heights, expected, lava, 0.5);
+        Assertions.assertThat(entity.getMaxHeightFluidType()).isSameAs(maxHeightFluidType(expected)).isSameAs(water);
+
+        put(heights, expected, lava, 0.75);
+        Assertions.assertThat(entity.getMaxHeightFluidType()).isSameAs(maxHeightFluidType(expected)).isSameAs(lava);
+
+        // Present entries with a height of 0 are still tested
+        put(heights, expected, water, 0);
+        Assertions.assertThat(entity.isInFluidType((type, height) -> height > 0, false)).isTrue();
+        Assertions.assertThat(entity.isInFluidType((type, height) -> height > 0, true)).isFalse();
+        Assertions.assertThat(entity.isInFluidType((type, height) -> height >= 0, true)).isTrue();
+        Assertions.assertThat(entity.isInFluidType((type, height) -> type == water, false)).isTrue();
+        Assertions.assertThat(entity.isInFluidType(water)).isFalse();
+        Assertions.assertThat(entity.isInFluidType(lava)).isTrue();
+    }
+
+    /**
+     * The previous implementation of {@link Entity#getMaxHeightFluidType()}.
+     */
+    private static FluidType maxHeightFluidType(Object2DoubleMap<FluidType> heights) {
+        return heights.object2DoubleEntrySet().stream().max(Comparator.comparingDouble(Object2DoubleMap.Entry::getDoubleValue)).map(Object2DoubleMap.Entry::getKey).orElseThrow();
+    }
+
+    @Test
+    void accumulatorIsEmptyAfterRelease(MinecraftServer server) {
+        FluidType water = NeoForgeMod.WATER_TYPE.value();
+        FluidType lava = NeoForgeMod.LAVA_TYPE.value();
+        FluidType empty = NeoForgeMod.EMPTY_TYPE.value();
+
+        var accumulator = FluidTypeHeights.Accumulator.acquire();
+        // Nested updates get their own accumulator
+        var nested = FluidTypeHeights.Accumulator.acquire();
+        Assertions.assertThat(nested).isNotSameAs(accumulator);
+        nested.release();
+
+        Assertions.assertThat(accumulator.addHeight(water, 0.5)).isEqualTo(0.5);
+        Assertions.assertThat(accumulator.addHeight(water, 0.25)).isEqualTo(0.5);
+        accumulator.addHeight(lava, 0.25);
+        accumulator.addHeight(empty, 0);
+        accumulator.addFlow(water, new Vec3(1, 0, 0));
+        accumulator.addFlow(lava, new Vec3(0, 1, 0));
+        accumulator.addFlow(lava, new Vec3(0, 1, 0));
+        accumulator.addFlow(empty, new Vec3(0, 0, 1));
+        Assertions.assertThat(accumulator.size()).isEqualTo(3);
+        Assertions.assertThat(accumulator.type(1)).isSameAs(lava);
+        Assertions.assertThat(accumulator.height(1)).isEqualTo(0.25);
+        Assertions.assertThat(accumulator.flow(1)).isEqualTo(new Vec3(0, 2, 0));
+        Assertions.assertThat(accumulator.blockCount(1)).isEqualTo(2);
+        accumulator.release();
+
+        var reused = FluidTypeHeights.Accumulator.acquire();
+        Assertions.assertThat(reused).isSameAs(accumulator);
+        Assertions.assertThat(reused.size()).isZero();
+        // The fluid types are added in another order, so no flow may carry over from the previous update
+        reused.addHeight(empty, 0.1);
+        reused.addHeight(lava, 0.2);
+        reused.addHeight(water, 0.3);
+        for (int i = 0; i < reused.size(); i++) {
+            Assertions.assertThat(reused.flow(i)).isEqualTo(Vec3.ZERO);
+            Assertions.assertThat(reused.blockCount(i)).isZero();
+        }
+        Assertions.assertThat(reused.height(0)).isEqualTo(0.1);
+        Assertions.assertThat(reused.height(2)).isEqualTo(0.3);
+        reused.release();
+    }
+
+    @Test
+    void accumulatorDoesNotAllocate(MinecraftServer server) {
+        Assumptions.assumeThat(ManagementFactory.getThreadMXBean()).isInstanceOf(ThreadMXBean.class);
+        var threads = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+        Assumptions.assumeThat(threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled()).isTrue();
+        FluidType water = NeoForgeMod.WATER_TYPE.value();
+        FluidType lava = NeoForgeMod.LAVA_TYPE.value();
+        Vec3 flow = new Vec3(0.1, 0, 0.1);
+        int iterations = 100_000;
+
+        // Warm up, so that the scratch arrays have their final size
+        accumulate(water, lava, flow, 1000);
+        long threadId = Thread.currentThread().threadId();
+        long before = threads.getThreadAllocatedBytes(threadId);
+        accumulate(water, lava, flow, iterations);
+        long allocated = threads.getThreadAllocatedBytes(threadId) - before;
+
+        // The map based implementation allocated a map and an interim calculation per fluid type in every update
+        Assertions.assertThat(allocated)
+                .withFailMessage("Accumulating fluid heights allocated %d bytes over %d updates", allocated, iterations)
+                .isLessThan(iterations);
+    }
+
+    private static double accumulate(FluidType water, FluidType lava, Vec3 flow, int iterations) {
+        double sum = 0;
+        for (int i = 0; i < iterations; i++) {
+            var accumulator = FluidTypeHeights.Accumulator.acquire();
+            accumulator.addHeight(water, 0.5);
+            accumulator.addFlow(water, flow);
+            accumulator.addHeight(lava, 0.25);
+            accumulator.addFlow(lava, flow);
+            for (int index = 0; index < accumulator.size(); index++) {
+                sum += accumulator.height(index) + accumulator.blockCount(index);
+            }
+            accumulator.release();
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) NeoForged and contributors
+ * SPDX-License-Identifier: LGPL-2.1-only
+ */
+
+package net.neoforged.neoforge.unittest;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import net.neoforged.neoforge.client.model.obj.ObjTokenizer;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+public class ObjTokenizerTest {
+    private static ObjTokenizer tokenize(String line) throws IOException {
+        var tokenizer = new ObjTokenizer(new ByteArrayInputStream(line.getBytes(StandardCharsets.UTF_8)));
+        Assertions.assertThat(tokenizer.nextLine()).isTrue();
+        return tokenizer;
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "0", "-0", "0.0", "-0.0", "1", "+1", "-1", ".5", "5.", "0.1", "0.2", "0.3", "-0.7071068", "0.33333334",
+            "1.0000001", "16777216", "16777217", "123456789", "3.4028235e38", "1.4e-45", "1e-10", "1e10", "1e11", "1.5E+3",
+            "2.5e-3", "0.0000000001", "0.00000000001", "1.000000000000", "123.456789012345678", "NaN", "-Infinity", "1.5f", "0x1p3"
+    })
+    void floatTokenMatchesParseFloat(String token) throws IOException {
+        Assertions.assertThat(tokenize("v " + token).floatToken(1)).isEqualTo(Float.parseFloat(token));
+    }
+
+    @Test
+    void floatTokenMatchesParseFloatForRandomNumbers() throws IOException {
+        var random = new Random(42);
+        for (int i = 0; i < 10000; i++) {
+            var token = switch (i % 3) {
+                case 0 -> Float.toString(random.nextFloat() * 2 - 1);
+                case 1 -> String.format(Locale.ROOT, "%.6f", random.nextDouble() * 100);
+                default -> (random.nextInt(20000000) - 10000000) + "e" + (random.nextInt(30) - 15);
+            };
+            Assertions.assertThat(tokenize("v " + token).floatToken(1)).as(token).isEqualTo(Float.parseFloat(token));
+        }
+    }
+
+    @ParameterizedTest
+    @CsvSource({ "0", "-0", "+7", "-1", "42", "999999999", "-999999999", "1000000000", "2147483647", "-2147483648" })
+    void intTokenMatchesParseInt(String token) throws IOException {
+        Assertions.assertThat(tokenize("s " + token).intToken(1)).isEqualTo(Integer.parseInt(token));
+    }
+
+    @ParameterizedTest
+    @CsvSource({ "2147483648", "1.5", "a", "-" })
+    void intTokenRejectsInvalidIntegers(String token) {
+        Assertions.assertThatThrownBy(() -> tokenize("s " + token).intToken(1)).isInstanceOf(NumberFormatException.class);
+    }
+
+    @ParameterizedTest
+    @CsvSource(delimiter = ';', value = {
+            "1; 1",
+            "1/2; 1,2",
+            "1//3; 1,0,3",
+            "-1/-2/-3; -1,-2,-3",
+            "4/5//; 4,5",
+            "1/2/3/4; 1,2,3,4"
+    })
+    void slashSeparatedIntsMatchesParseInt(String token, String expected) throws IOException {
+        int[] ints = Arrays.stream(expected.split(",")).mapToInt(Integer::parseInt).toArray();
+        Assertions.assertThat(tokenize("f " + token).slashSeparatedInts(1)).containsExactly(ints);
+    }
+
+    @Test
+    void slashSeparatedIntsReadsManyComponents() throws IOException {
+        int[] expected = IntStream.rangeClosed(1, 40).toArray();
+        var token = Arrays.stream(expected).mapToObj(Integer::toString).collect(Collectors.joining("/"));
+        Assertions.assertThat(tokenize("f " + token + " " + token).slashSeparatedInts(2)).containsExactly(expected);
+    }
+}
@@ -0,0 +1,150 @@
+/*
+ * Copyright (c) NeoForged and contributors
+ * SPDX-License-Identifier: LGPL-2.1-only
+ */
+
+package net.neoforged.neoforge.unittest;
+
+import com.mojang.authlib.GameProfile;
+import java.lang.reflect.Method;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.level.ServerPlayer;
+import net.neoforged.fml.util.ObfuscationReflectionHelper;
+import net.neoforged.neoforge.common.util.FakePlayerFactory;
+import net.neoforged.neoforge.server.permission.PermissionAPI;
+import net.neoforged.neoforge.server.permission.PermissionCache;
+import net.neoforged.neoforge.server.permission.handler.IPermissionHandler;
+import net.neoforged.neoforge.server.permission.nodes.PermissionDynamicContext;
+import net.neoforged.neoforge.server.permission.nodes.PermissionNode;
+import net.neoforged.neoforge.server.permission.nodes.PermissionTypes;
+import net.neoforged.testframework.junit.EphemeralTestServerProvider;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+@ExtendWith(EphemeralTestServerProvider.class)
+public class PermissionCacheTest {
+    private static final PermissionNode<Boolean> NODE = new PermissionNode<>("neotests", "permission_cache", PermissionTypes.BOOLEAN, (player, uuid, context) -> false);
+
+    @Test
+    void offlineResultsDoNotReplaceOnlineResults(MinecraftServer server) throws Exception {
+        ServerPlayer player = FakePlayerFactory.get(server.overworld(), new GameProfile(UUID.randomUUID(), "permission_cache_test"));
+        IPermissionHandler previous = ObfuscationReflectionHelper.getPrivateValue(PermissionAPI.class, null, "activeHandler");
+        Method setEnabled = ObfuscationReflectionHelper.findMethod(PermissionCache.class, "setEnabled", boolean.class);
+        ObfuscationReflectionHelper.setPrivateValue(PermissionAPI.class, null, new OnlineOnlyHandler(), "activeHandler");
+        setEnabled.invoke(null, true);
+        try {
+            Assertions.assertThat(PermissionAPI.getOfflinePermission(player.getUUID(), NODE))
+                    .withFailMessage("Offline permission should be resolved by the offline handler method")
+                    .isFalse();
+            Assertions.assertThat(PermissionAPI.getPermission(player, NODE))
+                    .withFailMessage("Online permission should not be answered with the cached offline result")
+                    .isTrue();
+            Assertions.assertThat(PermissionAPI.getOfflinePermission(player.getUUID(), NODE))
+                    .withFailMessage("Offline permission should not be answered with the cached online result")
+                    .isFalse();
+        } finally {
+            ObfuscationReflectionHelper.setPrivateValue(PermissionAPI.class, null, previous, "activeHandler");
+            setEnabled.invoke(null, previous != null && previous.canCacheResults());
+        }
+    }
+
+    @Test
+    void asyncResultsResolvedAcrossAnInvalidationAreNotCached(MinecraftServer server) throws Exception {
+        UUID player = UUID.randomUUID();
+        var handler = new DelayedOfflineHandler();
+        IPermissionHandler previous = ObfuscationReflectionHelper.getPrivateValue(PermissionAPI.class, null, "activeHandler");
+        Method setEnabled = ObfuscationReflectionHelper.findMethod(PermissionCache.class, "setEnabled", boolean.class);
+        ObfuscationReflectionHelper.setPrivateValue(PermissionAPI.class, null, handler, "activeHandler");
+        setEnabled.invoke(null, true);
+        try {
+            var result = PermissionAPI.getOfflinePermissionAsync(player, NODE);
+            // The permissions change while the handler is still resolving the previous ones
+            PermissionAPI.invalidate(player);
+            handler.pending.complete(true);
+            Assertions.assertThat(result.join()).isTrue();
+            Assertions.assertThat(PermissionAPI.getOfflinePermission(player, NODE))
+                    .withFailMessage("Result resolved before the invalidation should not be cached")
+                    .isFalse();
+        } finally {
+            ObfuscationReflectionHelper.setPrivateValue(PermissionAPI.class, null, previous, "activeHandler");
+            setEnabled.invoke(null, previous != null && previous.canCacheResults());
+        }
+    }
+
+    /**
+     * Grants {@link #NODE} to online players only.
+     */
+    private static final class OnlineOnlyHandler implements IPermissionHandler {
+        @Override
+        public ResourceLocation getIdentifier() {
+            return ResourceLocation.fromNamespaceAndPath("neotests", "online_only");
+        }
+
+        @Override
+        public Set<PermissionNode<?>> getRegisteredNodes() {
+            return Set.of(NODE);
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public <T> T getPermission(ServerPlayer player, PermissionNode<T> node, PermissionDynamicContext<?>... context) {
+            return (T) Boolean.TRUE;
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public <T> T getOfflinePermission(UUID player, PermissionNode<T> node, PermissionDynamicContext<?>... context) {
+            return (T) Boolean.FALSE;
+        }
+
+        @Override
+        public boolean canCacheResults() {
+            return true;
+        }
+    }
+
+    /**
+     * Resolves offline permissions asynchronously through {@link #pending}, and denies {@link #NODE} when resolved synchronously.
+     */
+    private static final class DelayedOfflineHandler implements IPermissionHandler {
+        private final CompletableFuture<Boolean> pending = new CompletableFuture<>();
+
+        @Override
+        public ResourceLocation getIdentifier() {
+            return ResourceLocation.fromNamespaceAndPath("neotests", "delayed_offline");
+        }
+
+        @Override
+        public Set<PermissionNode<?>> getRegisteredNodes() {
+            return Set.of(NODE);
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public <T> T getPermission(ServerPlayer player, PermissionNode<T> node, PermissionDynamicContext<?>... context) {
+            return (T) Boolean.FALSE;
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public <T> T getOfflinePermission(UUID player, PermissionNode<T> node, PermissionDynamicContext<?>... context) {
+            return (T) Boolean.FALSE;
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public <T> CompletableFuture<T> getOfflinePermissionAsync(UUID player, PermissionNode<T> node, PermissionDynamicContext<?>... context) {
+            return (CompletableFuture<T>) pending;
+        }
+
+        @Override
+        public boolean canCacheResults() {
+            return true;
+        }
+    }
+}
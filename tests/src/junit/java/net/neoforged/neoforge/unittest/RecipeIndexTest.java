@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) NeoForged and contributors
+ * SPDX-License-Identifier: LGPL-2.1-only
+ */
+
+package net.neoforged.neoforge.unittest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import net.minecraft.core.registries.BuiltInRegistries;
+import net.minecraft.core.registries.Registries;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.world.item.Item;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.Items;
+import net.minecraft.world.item.crafting.CraftingBookCategory;
+import net.minecraft.world.item.crafting.CraftingInput;
+import net.minecraft.world.item.crafting.CraftingRecipe;
+import net.minecraft.world.item.crafting.Ingredient;
+import net.minecraft.world.item.crafting.RecipeHolder;
+import net.minecraft.world.item.crafting.ShapelessRecipe;
+import net.neoforged.neoforge.common.crafting.DataComponentIngredient;
+import net.neoforged.neoforge.common.crafting.RecipeIndex;
+import net.neoforged.testframework.junit.EphemeralTestServerProvider;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+/**
+ * Tests that lookups through a {@link RecipeIndex} of a large synthetic recipe map find the same recipes as scanning all recipes.
+ */
+@ExtendWith(EphemeralTestServerProvider.class)
+public class RecipeIndexTest {
+    private static final int RECIPES = 40_000;
+    private static final int ITEMS = 256;
+    private static final int LOOKUPS = 100;
+
+    @Test
+    void indexedLookupsMatchLinearScan(MinecraftServer server) {
+        var random = new Random(42);
+        List<Item> items = BuiltInRegistries.ITEM.stream().filter(item -> item != Items.AIR).limit(ITEMS).toList();
+        List<RecipeHolder<CraftingRecipe>> recipes = new ArrayList<>(RECIPES);
+        for (int i = 0; i < RECIPES; i++) {
+            List<Ingredient> ingredients = new ArrayList<>();
+            for (int slot = 0; slot < 2; slot++) {
+                var item = items.get(random.nextInt(items.size()));
+                // Some recipes use custom ingredients, which are tested for every input
+                ingredients.add(i % 100 == 0 ? DataComponentIngredient.of(false, new ItemStack(item)) : Ingredient.of(item));
+            }
+            var key = ResourceKey.create(Registries.RECIPE, ResourceLocation.fromNamespaceAndPath("neotests", "synthetic_" + i));
+            recipes.add(new RecipeHolder<>(key, new ShapelessRecipe("", CraftingBookCategory.MISC, new ItemStack(Items.STICK), ingredients)));
+        }
+        RecipeIndex<CraftingInput, CraftingRecipe> index = RecipeIndex.build(recipes);
+
+        var level = server.overworld();
+        int found = 0;
+        for (int i = 0; i < LOOKUPS; i++) {
+            // Inputs of recipes, so that most lookups find one, and random inputs, which usually don't
+            List<ItemStack> stacks = new ArrayList<>();
+            if (i % 2 == 0) {
+                recipes.get(random.nextInt(RECIPES)).value().placementInfo().ingredients()
+                        .forEach(ingredient -> stacks.add(new ItemStack(ingredient.items().findFirst().orElseThrow())));
+            } else {
+                stacks.add(new ItemStack(items.get(random.nextInt(items.size()))));
+                stacks.add(new ItemStack(items.get(random.nextInt(items.size()))));
+            }
+            var input = CraftingInput.of(2, 1, stacks);
+            List<RecipeHolder<CraftingRecipe>> matching = recipes.stream().filter(recipe -> recipe.value().matches(input, level)).toList();
+            Assertions.assertThat(index.getRecipeFor(input, level)).as("Lookup of %s", stacks).isEqualTo(matching.stream().findFirst());
+            Assertions.assertThat(index.getRecipesFor(input, level).toList()).as("Lookup of %s", stacks).containsExactlyElementsOf(matching);
+            if (!matching.isEmpty()) {
+                found++;
+            }
+        }
+        Assertions.assertThat(found).isGreaterThanOrEqualTo(LOOKUPS / 2);
+    }
+}
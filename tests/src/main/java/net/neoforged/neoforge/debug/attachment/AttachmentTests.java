@@ -17,22 +17,28 @@ import net.minecraft.core.registries.Registries;
 import net.minecraft.gametest.framework.GameTest;
 import net.minecraft.nbt.IntTag;
 import net.minecraft.network.chat.Component;
+import net.minecraft.network.codec.ByteBufCodecs;
 import net.minecraft.world.entity.Entity;
+import net.minecraft.world.entity.EntityType;
 import net.minecraft.world.item.ItemStack;
 import net.minecraft.world.item.Items;
 import net.minecraft.world.item.enchantment.Enchantments;
 import net.minecraft.world.item.enchantment.ItemEnchantments;
+import net.minecraft.world.level.ChunkPos;
 import net.minecraft.world.level.GameType;
 import net.minecraft.world.level.chunk.LevelChunk;
+import net.neoforged.neoforge.attachment.AttachmentSync;
 import net.neoforged.neoforge.attachment.AttachmentType;
 import net.neoforged.neoforge.common.NeoForge;
 import net.neoforged.neoforge.common.util.INBTSerializable;
 import net.neoforged.neoforge.event.RegisterCommandsEvent;
+import net.neoforged.neoforge.network.payload.SyncAttachmentsPayload;
 import net.neoforged.neoforge.registries.NeoForgeRegistries;
 import net.neoforged.testframework.DynamicTest;
 import net.neoforged.testframework.annotation.ForEachTest;
 import net.neoforged.testframework.annotation.TestHolder;
 import net.neoforged.testframework.gametest.EmptyTemplate;
+import net.neoforged.testframework.gametest.GameTestPlayer;
 import net.neoforged.testframework.registration.RegistrationHelper;
 
 @ForEachTest(groups = "attachment")
@@ -153,4 +159,40 @@ public class AttachmentTests {
             helper.succeed();
         });
     }
+
+    @GameTest
+    @EmptyTemplate
+    @TestHolder(description = "Ensures that synced entity and chunk attachments are only sent to the players tracking their holder.")
+    static void syncedAttachments(DynamicTest test, RegistrationHelper reg) {
+        var syncedInt = reg.attachments()
+                .register("synced_int", () -> AttachmentType.builder(() -> 0).sync(ByteBufCodecs.VAR_INT).build());
+
+        test.onGameTest(helper -> {
+            var pig = helper.spawnWithNoFreeWill(EntityType.PIG, 1, 1, 1);
+            // Markers are never sent to clients, so no player tracks them even though their chunk is watched
+            var marker = helper.spawn(EntityType.MARKER, 1, 1, 1);
+
+            helper.startSequence(() -> helper.makeTickingMockServerPlayerInCorner(GameType.SURVIVAL))
+                    .thenIdle(2)
+                    .thenExecute(player -> {
+                        pig.setData(syncedInt, 1);
+                        marker.setData(syncedInt, 2);
+                        player.setData(syncedInt, 3);
+                        helper.getLevel().getChunkAt(player.blockPosition()).setData(syncedInt, 4);
+                    })
+                    .thenIdle(1)
+                    .thenExecute(player -> {
+                        helper.assertTrue(receivedSync(player, AttachmentSync.HolderType.ENTITY, pig.getId()), "Attachment of a tracked entity was not synced");
+                        helper.assertFalse(receivedSync(player, AttachmentSync.HolderType.ENTITY, marker.getId()), "Attachment of an untracked entity was synced");
+                        helper.assertTrue(receivedSync(player, AttachmentSync.HolderType.ENTITY, player.getId()), "Attachment of the player itself was not synced");
+                        helper.assertTrue(receivedSync(player, AttachmentSync.HolderType.CHUNK, new ChunkPos(player.blockPosition()).toLong()), "Attachment of a watched chunk was not synced");
+                    })
+                    .thenSucceed();
+        });
+    }
+
+    private static boolean receivedSync(GameTestPlayer player, AttachmentSync.HolderType holderType, long holderId) {
+        return player.getOutboundPayloads(SyncAttachmentsPayload.class)
+                .anyMatch(payload -> payload.holderType() == holderType && payload.holderId() == holderId);
+    }
 }
@@ -5,17 +5,21 @@
 
 package net.neoforged.neoforge.debug.block;
 
+import java.util.concurrent.atomic.AtomicReference;
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.Direction;
 import net.minecraft.gametest.framework.GameTest;
 import net.minecraft.world.InteractionHand;
+import net.minecraft.world.InteractionResult;
 import net.minecraft.world.entity.EntityType;
 import net.minecraft.world.entity.animal.Sheep;
 import net.minecraft.world.entity.animal.goat.Goat;
+import net.minecraft.world.item.Item;
 import net.minecraft.world.item.ItemStack;
 import net.minecraft.world.item.Items;
 import net.minecraft.world.item.context.UseOnContext;
 import net.minecraft.world.level.GameType;
+import net.minecraft.world.level.block.Block;
 import net.minecraft.world.level.block.Blocks;
 import net.minecraft.world.level.block.RedstoneLampBlock;
 import net.minecraft.world.phys.BlockHitResult;
@@ -28,6 +32,7 @@ import net.neoforged.testframework.annotation.ForEachTest;
 import net.neoforged.testframework.annotation.TestHolder;
 import net.neoforged.testframework.gametest.EmptyTemplate;
 import net.neoforged.testframework.gametest.StructureTemplateBuilder;
+import net.neoforged.testframework.registration.RegistrationHelper;
 
 @ForEachTest(groups = { BlockTests.GROUP + ".event", "event" })
 public class BlockEventTests {
@@ -145,6 +150,51 @@ public class BlockEventTests {
                 .thenSucceed());
     }
 
+    @GameTest
+    @EmptyTemplate(floor = true)
+    @TestHolder(description = "Tests that an item setting the same position twice fires a single place event, and that cancelling it restores the original block")
+    static void repeatedPlaceAtOnePosition(final DynamicTest test, final RegistrationHelper reg) {
+        var doublePlacer = reg.items().registerItem("double_placer", props -> new Item(props) {
+            @Override
+            public InteractionResult useOn(UseOnContext context) {
+                BlockPos pos = context.getClickedPos().relative(context.getClickedFace());
+                context.getLevel().setBlock(pos, Blocks.STONE.defaultBlockState(), Block.UPDATE_ALL);
+                context.getLevel().setBlock(pos, Blocks.DIRT.defaultBlockState(), Block.UPDATE_ALL);
+                return InteractionResult.SUCCESS;
+            }
+        });
+        AtomicReference<BlockEvent.EntityPlaceEvent> fired = new AtomicReference<>();
+        test.eventListeners().forge().addListener((final BlockEvent.EntityPlaceEvent event) -> {
+            if (event.getPlacedBlock().is(Blocks.DIRT)) {
+                fired.set(event);
+                if (event.getPlacedAgainst().is(Blocks.DIAMOND_BLOCK)) {
+                    event.setCanceled(true);
+                }
+            }
+        });
+
+        BlockPos pos = new BlockPos(1, 2, 1);
+        test.onGameTest(helper -> helper.startSequence()
+                .thenExecute(() -> helper.setBlock(pos.below(), Blocks.BAMBOO_BLOCK))
+                .thenExecute(() -> helper.useOn(pos.below(), new ItemStack(doublePlacer), helper.makeMockPlayer(), Direction.UP))
+                .thenExecute(() -> {
+                    var event = fired.getAndSet(null);
+                    helper.assertTrue(event != null, "No place event was fired");
+                    helper.assertTrue(!(event instanceof BlockEvent.EntityMultiPlaceEvent), "Setting one position twice fired a multi place event");
+                    helper.assertTrue(event.getBlockSnapshot().getState().isAir(), "The snapshot does not hold the state before the first change");
+                    helper.assertBlockPresent(Blocks.DIRT, pos);
+                })
+                .thenExecute(() -> helper.setBlock(pos, Blocks.AIR))
+                .thenExecute(() -> helper.setBlock(pos.below(), Blocks.DIAMOND_BLOCK))
+                .thenExecute(() -> helper.useOn(pos.below(), new ItemStack(doublePlacer), helper.makeMockPlayer(), Direction.UP))
+                .thenExecute(() -> {
+                    helper.assertTrue(fired.getAndSet(null) != null, "No place event was fired");
+                    // Restoring the snapshot reverts both changes, not only the last one
+                    helper.assertBlockPresent(Blocks.AIR, pos);
+                })
+                .thenSucceed());
+    }
+
     @GameTest
     @EmptyTemplate(floor = true)
     @TestHolder(description = "Tests if the block modification event is fired")
@@ -0,0 +1,48 @@
+/*
+ * Copyright (c) NeoForged and contributors
+ * SPDX-License-Identifier: LGPL-2.1-only
+ */
+
+package net.neoforged.neoforge.debug.crafting;
+
+import java.util.List;
+import java.util.Objects;
+import net.minecraft.gametest.framework.GameTest;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.Items;
+import net.minecraft.world.item.crafting.CraftingInput;
+import net.minecraft.world.item.crafting.RecipeType;
+import net.minecraft.world.item.crafting.SingleRecipeInput;
+import net.neoforged.testframework.DynamicTest;
+import net.neoforged.testframework.annotation.ForEachTest;
+import net.neoforged.testframework.annotation.TestHolder;
+import net.neoforged.testframework.gametest.EmptyTemplate;
+
+@ForEachTest(groups = "crafting.index")
+public class RecipeIndexTests {
+    @GameTest
+    @EmptyTemplate
+    @TestHolder(description = "Tests that indexed recipe lookups find the same recipes as regular lookups")
+    static void indexedRecipeLookup(final DynamicTest test) {
+        test.onGameTest(helper -> {
+            var level = helper.getLevel();
+            var recipes = level.getServer().getRecipeManager();
+
+            var sticks = CraftingInput.of(1, 2, List.of(new ItemStack(Items.OAK_PLANKS), new ItemStack(Items.OAK_PLANKS)));
+            var indexedSticks = recipes.getIndexedRecipeFor(RecipeType.CRAFTING, sticks, level);
+            helper.assertTrue(indexedSticks.isPresent(), "No indexed recipe found for sticks");
+            helper.assertTrue(Objects.equals(indexedSticks, recipes.getRecipeFor(RecipeType.CRAFTING, sticks, level)), "Indexed lookup found a different recipe for sticks");
+
+            // Firework rockets are a special recipe, which is tested for every input
+            var rocket = CraftingInput.of(2, 1, List.of(new ItemStack(Items.PAPER), new ItemStack(Items.GUNPOWDER)));
+            helper.assertTrue(Objects.equals(recipes.getIndexedRecipeFor(RecipeType.CRAFTING, rocket, level), recipes.getRecipeFor(RecipeType.CRAFTING, rocket, level)), "Indexed lookup found a different recipe for firework rockets");
+
+            var ironOre = new SingleRecipeInput(new ItemStack(Items.IRON_ORE));
+            helper.assertTrue(Objects.equals(recipes.getIndexedRecipeFor(RecipeType.SMELTING, ironOre, level), recipes.getRecipeFor(RecipeType.SMELTING, ironOre, level)), "Indexed lookup found a different smelting recipe for iron ore");
+
+            var dirt = new SingleRecipeInput(new ItemStack(Items.DIRT));
+            helper.assertTrue(recipes.getIndexedRecipeFor(RecipeType.SMELTING, dirt, level).isEmpty(), "Indexed lookup found a smelting recipe for dirt");
+            helper.succeed();
+        });
+    }
+}
@@ -30,6 +30,7 @@ import net.neoforged.neoforge.event.entity.EntityInvulnerabilityCheckEvent;
 import net.neoforged.neoforge.event.entity.EntityTeleportEvent;
 import net.neoforged.neoforge.event.entity.EntityTravelToDimensionEvent;
 import net.neoforged.neoforge.event.entity.living.FinalizeSpawnEvent;
+import net.neoforged.neoforge.event.level.ExplosionKnockbackBatchEvent;
 import net.neoforged.neoforge.event.level.ExplosionKnockbackEvent;
 import net.neoforged.testframework.DynamicTest;
 import net.neoforged.testframework.Test;
@@ -127,6 +128,27 @@ public class EntityEventTests {
                 .thenSucceed());
     }
 
+    @GameTest
+    @EmptyTemplate(value = "15x5x15", floor = true)
+    @TestHolder(description = "Tests if the pig only gets vertical knockback from the batched explosion knockback event")
+    static void entityVerticalExplosionKnockbackBatchEvent(final DynamicTest test) {
+        test.eventListeners().forge().addListener((final ExplosionKnockbackBatchEvent event) -> {
+            for (int i = 0; i < event.size(); i++) {
+                if (event.getAffectedEntity(i) instanceof Pig) {
+                    event.setKnockbackVelocity(i, 0, event.getKnockbackY(i), 0);
+                }
+            }
+        });
+
+        test.onGameTest(helper -> helper.startSequence(() -> helper.spawnWithNoFreeWill(EntityType.PIG, 8, 3, 7))
+                .thenExecute(pig -> helper.setBlock(8, 2, 7, Blocks.ACACIA_LEAVES))
+                .thenExecute(pig -> helper.getLevel().explode(null, helper.getLevel().damageSources().generic(), null, helper.absolutePos(new BlockPos(7, 2, 7)).getCenter(), 2f, false, Level.ExplosionInteraction.TNT))
+                .thenExecute(pig -> helper.assertEntityProperty(pig, p -> pig.getDeltaMovement().x() == 0 && pig.getDeltaMovement().y() != 0 && pig.getDeltaMovement().z() == 0, "Check explosion Knockback"))
+                .thenIdle(10)
+                .thenExecute(helper::killAllEntities)
+                .thenSucceed());
+    }
+
     @GameTest
     @EmptyTemplate(floor = true)
     @TestHolder(description = "Tests if the EntityTravelToDimensionEvent fires correctly and if cancelling it prevents the transition")